@@ -85,6 +85,87 @@ class BaseConfig<T extends BaseConfig<T>> {
      */
     private String clientName;
 
+    /**
+     * Send commands via connection without waiting for replies of previously sent commands
+     */
+    private boolean pipelining = false;
+
+    /**
+     * Amount of connections per Redis server shared by all non-blocking commands
+     */
+    private int sharedConnections = 0;
+
+    /**
+     * Flushes of commands written during the same event loop iteration
+     * are coalesced until this amount of commands
+     */
+    private int maxCommandsPerFlush = 1;
+
+    /**
+     * Flushes of commands are coalesced until this amount of pending bytes
+     */
+    private int maxBytesPerFlush = 65536;
+
+    /**
+     * Bulk read values are decoded on first access
+     */
+    private boolean lazyDecoding;
+
+    /**
+     * Lua scripts are sent by SHA1 digest
+     */
+    private boolean useScriptCache = true;
+
+    /**
+     * Commands are collected into batch during this amount of microseconds
+     */
+    private int autoBatchWindow;
+
+    /**
+     * Auto batch is executed once it reaches this amount of commands
+     */
+    private int autoBatchSize = 100;
+
+    /**
+     * Max amount of batch commands sent to node at once
+     */
+    private int batchChunkSize;
+
+    /**
+     * Free connections are partitioned by event loop
+     */
+    private boolean eventLoopAffinity;
+
+    /**
+     * Connection pool size is adjusted to demand with this interval in milliseconds
+     */
+    private int adaptivePoolInterval;
+
+    /**
+     * Client doesn't wait for connection pools initialization during startup
+     */
+    private boolean lazyInit;
+
+    /**
+     * Max amount of connections created in parallel during pool initialization
+     */
+    private int connectionWarmUpParallelism = 50;
+
+    /**
+     * Read is repeated to another replica if no reply received within this percentile of read latency
+     */
+    private int hedgedReadPercentile;
+
+    /**
+     * Minimum delay in milliseconds before read is repeated to another replica
+     */
+    private int hedgedReadMinDelay = 5;
+
+    /**
+     * Max total time in milliseconds while reading of streamed reply could be suspended
+     */
+    private int streamSuspendTimeout = 60000;
+
     BaseConfig() {
     }
 
@@ -100,6 +181,22 @@ class BaseConfig<T extends BaseConfig<T>> {
         setIdleConnectionTimeout(config.getIdleConnectionTimeout());
         setFailedAttempts(config.getFailedAttempts());
         setReconnectionTimeout(config.getReconnectionTimeout());
+        setPipelining(config.isPipelining());
+        setSharedConnections(config.getSharedConnections());
+        setMaxCommandsPerFlush(config.getMaxCommandsPerFlush());
+        setMaxBytesPerFlush(config.getMaxBytesPerFlush());
+        setLazyDecoding(config.isLazyDecoding());
+        setUseScriptCache(config.isUseScriptCache());
+        setAutoBatchWindow(config.getAutoBatchWindow());
+        setAutoBatchSize(config.getAutoBatchSize());
+        setBatchChunkSize(config.getBatchChunkSize());
+        setEventLoopAffinity(config.isEventLoopAffinity());
+        setAdaptivePoolInterval(config.getAdaptivePoolInterval());
+        setLazyInit(config.isLazyInit());
+        setConnectionWarmUpParallelism(config.getConnectionWarmUpParallelism());
+        setHedgedReadPercentile(config.getHedgedReadPercentile());
+        setHedgedReadMinDelay(config.getHedgedReadMinDelay());
+        setStreamSuspendTimeout(config.getStreamSuspendTimeout());
     }
 
     /**
@@ -277,4 +374,321 @@ class BaseConfig<T extends BaseConfig<T>> {
         return failedAttempts;
     }
 
+    /**
+     * Enables commands pipelining per connection.
+     * Commands are written to connection without waiting for replies
+     * of previously sent commands and replies are matched to them in order.
+     * Connection is returned to pool right after command has been written,
+     * so a few connections are enough to load Redis server.
+     * <p/>
+     * Blocking and pub/sub commands are still sent exclusively.
+     * <p/>
+     * Default is <code>false</code>
+     *
+     * @param pipelining
+     */
+    public T setPipelining(boolean pipelining) {
+        this.pipelining = pipelining;
+        return (T) this;
+    }
+
+    public boolean isPipelining() {
+        return pipelining;
+    }
+
+    /**
+     * Amount of long-lived connections per Redis server shared by all non-blocking commands.
+     * Commands are pipelined through them instead of borrowing a connection
+     * from pool for each command. Connection pool is still used for blocking commands and batches.
+     * <p/>
+     * <code>0</code> disables shared connections.
+     * Amount of event loop threads is a good value otherwise.
+     * <p/>
+     * Default is <code>0</code>
+     *
+     * @param sharedConnections
+     */
+    public T setSharedConnections(int sharedConnections) {
+        this.sharedConnections = sharedConnections;
+        return (T) this;
+    }
+
+    public int getSharedConnections() {
+        return sharedConnections;
+    }
+
+    /**
+     * Coalesces flushes of commands written to connection during the same
+     * event loop iteration until <code>maxCommandsPerFlush</code> amount of commands
+     * or <code>maxBytesPerFlush</code> amount of bytes is reached.
+     * Reduces amount of system calls under high load.
+     * Each command of batch is counted.
+     * <p/>
+     * Value <code>1</code> disables coalescing, each command is flushed immediately.
+     * <p/>
+     * Default is <code>1</code>
+     *
+     * @param maxCommandsPerFlush
+     */
+    public T setMaxCommandsPerFlush(int maxCommandsPerFlush) {
+        this.maxCommandsPerFlush = maxCommandsPerFlush;
+        return (T) this;
+    }
+
+    public int getMaxCommandsPerFlush() {
+        return maxCommandsPerFlush;
+    }
+
+    /**
+     * Pending bytes amount which triggers immediate flush of coalesced commands.
+     * Used only if <code>maxCommandsPerFlush</code> is bigger than 1.
+     * <p/>
+     * Default is <code>65536</code>
+     *
+     * @see #setMaxCommandsPerFlush(int)
+     * @param maxBytesPerFlush
+     */
+    public T setMaxBytesPerFlush(int maxBytesPerFlush) {
+        this.maxBytesPerFlush = maxBytesPerFlush;
+        return (T) this;
+    }
+
+    public int getMaxBytesPerFlush() {
+        return maxBytesPerFlush;
+    }
+
+    /**
+     * Values returned by {@link org.redisson.core.RBuckets#get(String...)}
+     * and {@link org.redisson.core.RMap#getAll(java.util.Set)} are kept as bytes
+     * and decoded by codec on first access in caller thread, instead of I/O thread.
+     * Values which are never accessed aren't decoded at all.
+     * Decoding errors are thrown on value access in this mode.
+     * <p/>
+     * Default is <code>false</code>
+     *
+     * @param lazyDecoding
+     */
+    public T setLazyDecoding(boolean lazyDecoding) {
+        this.lazyDecoding = lazyDecoding;
+        return (T) this;
+    }
+
+    public boolean isLazyDecoding() {
+        return lazyDecoding;
+    }
+
+    /**
+     * Internal Lua scripts are executed with <code>EVALSHA</code> using SHA1 digest
+     * instead of sending whole script each time. Script is sent again with <code>EVAL</code>
+     * if Redis replies with <code>NOSCRIPT</code> error, which also loads it on the server.
+     * Not used in batches.
+     * <p/>
+     * Default is <code>true</code>
+     *
+     * @param useScriptCache
+     */
+    public T setUseScriptCache(boolean useScriptCache) {
+        this.useScriptCache = useScriptCache;
+        return (T) this;
+    }
+
+    public boolean isUseScriptCache() {
+        return useScriptCache;
+    }
+
+    /**
+     * Async commands executed within this window in microseconds are collected
+     * into one batch. Commands of each node are pipelined in one write and each
+     * command future is completed by its own reply. Blocking commands and commands
+     * addressed to a particular client are executed as usual.
+     * Synchronous methods are executed through the same async path,
+     * so their latency is increased by up to the window as well.
+     * <p/>
+     * Default is <code>0</code> (auto batching is disabled)
+     *
+     * @param autoBatchWindow - in microseconds
+     */
+    public T setAutoBatchWindow(int autoBatchWindow) {
+        this.autoBatchWindow = autoBatchWindow;
+        return (T) this;
+    }
+
+    public int getAutoBatchWindow() {
+        return autoBatchWindow;
+    }
+
+    /**
+     * Auto batch is executed before end of <code>autoBatchWindow</code>
+     * once it reaches this amount of commands.
+     * <p/>
+     * Default is <code>100</code>
+     *
+     * @param autoBatchSize
+     */
+    public T setAutoBatchSize(int autoBatchSize) {
+        this.autoBatchSize = autoBatchSize;
+        return (T) this;
+    }
+
+    public int getAutoBatchSize() {
+        return autoBatchSize;
+    }
+
+    /**
+     * Batch commands of each node are split into chunks of this amount of commands.
+     * Next chunk is encoded and sent only after replies of previous one
+     * have been received, so only one chunk per node is kept in encoded form
+     * and commands order is kept. Not applied to atomic batches.
+     * <p/>
+     * This option limits amount of commands, not bytes. Commands and their
+     * parameters are kept in memory until batch has been executed, except
+     * for <code>executeSkipResult</code> mode where commands of each
+     * sent chunk are dropped once its replies have been received.
+     * <p/>
+     * Default is <code>0</code> (batch commands are sent at once)
+     *
+     * @param batchChunkSize
+     */
+    public T setBatchChunkSize(int batchChunkSize) {
+        this.batchChunkSize = batchChunkSize;
+        return (T) this;
+    }
+
+    public int getBatchChunkSize() {
+        return batchChunkSize;
+    }
+
+    /**
+     * Free connections of pool are partitioned by Netty event loop
+     * of their channels. Command executed from event loop thread
+     * (e.g. inside a future listener) gets connection bound to the same loop,
+     * so write and reply handling stay on the current thread.
+     * Other threads are spread across partitions.
+     * <p/>
+     * Default is <code>false</code>
+     *
+     * @param eventLoopAffinity
+     */
+    public T setEventLoopAffinity(boolean eventLoopAffinity) {
+        this.eventLoopAffinity = eventLoopAffinity;
+        return (T) this;
+    }
+
+    public boolean isEventLoopAffinity() {
+        return eventLoopAffinity;
+    }
+
+    /**
+     * Enables adaptive sizing of connection pool. Each interval amount of
+     * connections in use and amount of connections created on demand
+     * (acquire waited for connect) are sampled and smoothed per Redis server.
+     * Pool is grown ahead to smoothed demand with headroom and idle connections
+     * above it are gradually closed, always within minimum idle size and pool size.
+     * Replaces <code>idleConnectionTimeout</code> based shrinking of command connections.
+     * <p/>
+     * Default is <code>0</code> (adaptive sizing is disabled)
+     *
+     * @param adaptivePoolInterval - in milliseconds
+     */
+    public T setAdaptivePoolInterval(int adaptivePoolInterval) {
+        this.adaptivePoolInterval = adaptivePoolInterval;
+        return (T) this;
+    }
+
+    public int getAdaptivePoolInterval() {
+        return adaptivePoolInterval;
+    }
+
+    /**
+     * Client becomes usable as soon as Redis servers topology is known.
+     * Connection pools are warmed up to their minimum idle size in background
+     * and connection is created on demand if command doesn't find a free one.
+     * Pool initialization errors are logged instead of failing client creation.
+     * <p/>
+     * Default is <code>false</code>
+     *
+     * @param lazyInit
+     */
+    public T setLazyInit(boolean lazyInit) {
+        this.lazyInit = lazyInit;
+        return (T) this;
+    }
+
+    public boolean isLazyInit() {
+        return lazyInit;
+    }
+
+    /**
+     * Max amount of connections created in parallel while connection pool
+     * of each Redis server is filled up to its minimum idle size.
+     * <p/>
+     * Default is <code>50</code>
+     *
+     * @param connectionWarmUpParallelism
+     */
+    public T setConnectionWarmUpParallelism(int connectionWarmUpParallelism) {
+        this.connectionWarmUpParallelism = connectionWarmUpParallelism;
+        return (T) this;
+    }
+
+    public int getConnectionWarmUpParallelism() {
+        return connectionWarmUpParallelism;
+    }
+
+    /**
+     * Enables hedged reads for <code>SLAVE</code> and <code>MASTER_SLAVE</code> read modes.
+     * If read command doesn't get reply within this percentile of recent read latencies,
+     * the same command is sent again through load balancer to another node.
+     * The first reply is used. Latencies are sampled from the first sent commands only.
+     * Reads aren't hedged until enough latency samples are collected.
+     * Write, blocking, streamed and batch commands are never hedged.
+     * <p/>
+     * Default is <code>0</code> (hedged reads are disabled)
+     *
+     * @param hedgedReadPercentile - from <code>1</code> to <code>100</code>
+     */
+    public T setHedgedReadPercentile(int hedgedReadPercentile) {
+        this.hedgedReadPercentile = hedgedReadPercentile;
+        return (T) this;
+    }
+
+    public int getHedgedReadPercentile() {
+        return hedgedReadPercentile;
+    }
+
+    /**
+     * Minimum delay before read command is repeated to another node.
+     * Used if <code>hedgedReadPercentile</code> of read latencies is lower.
+     * <p/>
+     * Default is <code>5</code>
+     *
+     * @param hedgedReadMinDelay - in milliseconds
+     */
+    public T setHedgedReadMinDelay(int hedgedReadMinDelay) {
+        this.hedgedReadMinDelay = hedgedReadMinDelay;
+        return (T) this;
+    }
+
+    public int getHedgedReadMinDelay() {
+        return hedgedReadMinDelay;
+    }
+
+    /**
+     * Max total time while reading of streamed reply could stay suspended
+     * because its iterator isn't consumed. Once it's exceeded the command fails
+     * with {@link org.redisson.client.RedisTimeoutException} and its connection is reconnected.
+     * <p/>
+     * Default is <code>60000</code>
+     *
+     * @param streamSuspendTimeout - in milliseconds
+     */
+    public T setStreamSuspendTimeout(int streamSuspendTimeout) {
+        this.streamSuspendTimeout = streamSuspendTimeout;
+        return (T) this;
+    }
+
+    public int getStreamSuspendTimeout() {
+        return streamSuspendTimeout;
+    }
+
 }
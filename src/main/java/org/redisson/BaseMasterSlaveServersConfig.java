@@ -55,6 +55,16 @@ public class BaseMasterSlaveServersConfig<T extends BaseMasterSlaveServersConfig
      */
     private int masterConnectionPoolSize = 100;
 
+    /**
+     * Redis 'master' node minimum idle connection amount for blocking commands
+     */
+    private int blockingConnectionMinimumIdleSize = 0;
+
+    /**
+     * Redis 'master' node maximum connection pool size for blocking commands
+     */
+    private int blockingConnectionPoolSize = 0;
+
     private ReadMode readMode = ReadMode.SLAVE;
 
     public BaseMasterSlaveServersConfig() {
@@ -70,6 +80,8 @@ public class BaseMasterSlaveServersConfig<T extends BaseMasterSlaveServersConfig
         setSlaveConnectionMinimumIdleSize(config.getSlaveConnectionMinimumIdleSize());
         setSlaveSubscriptionConnectionMinimumIdleSize(config.getSlaveSubscriptionConnectionMinimumIdleSize());
         setReadMode(config.getReadMode());
+        setBlockingConnectionPoolSize(config.getBlockingConnectionPoolSize());
+        setBlockingConnectionMinimumIdleSize(config.getBlockingConnectionMinimumIdleSize());
     }
 
     /**
@@ -114,6 +126,7 @@ public class BaseMasterSlaveServersConfig<T extends BaseMasterSlaveServersConfig
      * @return
      *
      * @see org.redisson.connection.balancer.RoundRobinLoadBalancer
+     * @see org.redisson.connection.balancer.LatencyAwareLoadBalancer
      * @see org.redisson.connection.BaseLoadBalancer
      */
     public T setLoadBalancer(LoadBalancer loadBalancer) {
@@ -204,4 +217,43 @@ public class BaseMasterSlaveServersConfig<T extends BaseMasterSlaveServersConfig
         return readMode;
     }
 
+    /**
+     * Redis 'master' node connection pool size used only by blocking commands
+     * (BLPOP, BRPOP, BRPOPLPUSH). Blocking commands hold connection during whole wait,
+     * so separate pool prevents them from exhausting pool of other commands.
+     * <p/>
+     * Default is <code>0</code> (blocking commands use master connection pool)
+     * <p/>
+     * @see #setBlockingConnectionMinimumIdleSize(int)
+     *
+     * @param blockingConnectionPoolSize
+     * @return
+     */
+    public T setBlockingConnectionPoolSize(int blockingConnectionPoolSize) {
+        this.blockingConnectionPoolSize = blockingConnectionPoolSize;
+        return (T) this;
+    }
+    public int getBlockingConnectionPoolSize() {
+        return blockingConnectionPoolSize;
+    }
+
+    /**
+     * Redis 'master' node minimum idle connection amount for blocking commands.
+     * Idle connections above this amount are closed after <code>idleConnectionTimeout</code>.
+     * <p/>
+     * Default is <code>0</code>
+     * <p/>
+     * @see #setBlockingConnectionPoolSize(int)
+     *
+     * @param blockingConnectionMinimumIdleSize
+     * @return
+     */
+    public T setBlockingConnectionMinimumIdleSize(int blockingConnectionMinimumIdleSize) {
+        this.blockingConnectionMinimumIdleSize = blockingConnectionMinimumIdleSize;
+        return (T) this;
+    }
+    public int getBlockingConnectionMinimumIdleSize() {
+        return blockingConnectionMinimumIdleSize;
+    }
+
 }
@@ -232,6 +232,26 @@ public class RedissonBatch implements RBatch {
         return executorService.executeAsync();
     }
 
+    @Override
+    public List<?> executeAtomic() {
+        return executorService.executeAtomic();
+    }
+
+    @Override
+    public Future<List<?>> executeAtomicAsync() {
+        return executorService.executeAtomicAsync();
+    }
+
+    @Override
+    public void executeSkipResult() {
+        executorService.executeSkipResult();
+    }
+
+    @Override
+    public Future<Void> executeSkipResultAsync() {
+        return executorService.executeSkipResultAsync();
+    }
+
     @Override
     public <K, V> RMultimapAsync<K, V> getSetMultimap(String name) {
         return new RedissonSetMultimap<K, V>(executorService, name);
@@ -20,19 +20,24 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import org.redisson.client.codec.Codec;
 import org.redisson.client.codec.DelegateDecoderCodec;
+import org.redisson.client.codec.LazyDecoderCodec;
+import org.redisson.client.codec.StringCodec;
 import org.redisson.client.protocol.RedisCommand;
 import org.redisson.client.protocol.RedisCommand.ValueType;
 import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandBatchService;
 import org.redisson.command.CommandExecutor;
 import org.redisson.connection.decoder.MapGetAllDecoder;
 import org.redisson.core.RBucket;
 import org.redisson.core.RBuckets;
+import org.redisson.misc.LazyValueMap;
 
 import io.netty.util.concurrent.Future;
 
@@ -72,9 +77,40 @@ public class RedissonBuckets implements RBuckets {
             return Collections.emptyMap();
         }
 
-        RedisCommand<Map<Object, Object>> command = new RedisCommand<Map<Object, Object>>("MGET", new MapGetAllDecoder(Arrays.<Object>asList(keys), 0), ValueType.OBJECTS);
-        Future<Map<String, V>> future = commandExecutor.readAsync(keys[0], new DelegateDecoderCodec(codec), command, keys);
-        return commandExecutor.get(future);
+        boolean lazy = commandExecutor.getConnectionManager().getConfig().isLazyDecoding();
+        Codec valueCodec = codec;
+        if (lazy) {
+            valueCodec = new LazyDecoderCodec(codec);
+        }
+
+        Map<Integer, List<String>> slot2keys = groupBySlot(Arrays.asList(keys));
+        if (slot2keys.size() == 1) {
+            RedisCommand<Map<Object, Object>> command = new RedisCommand<Map<Object, Object>>("MGET", new MapGetAllDecoder(Arrays.<Object>asList(keys), 0, lazy), ValueType.OBJECTS);
+            Future<Map<String, V>> future = commandExecutor.readAsync(keys[0], new DelegateDecoderCodec(valueCodec), command, keys);
+            return commandExecutor.get(future);
+        }
+
+        // MGET per slot, pipelined per node
+        CommandBatchService executorService = new CommandBatchService(commandExecutor.getConnectionManager());
+        for (List<String> slotKeys : slot2keys.values()) {
+            RedisCommand<Map<Object, Object>> command = new RedisCommand<Map<Object, Object>>("MGET", new MapGetAllDecoder(new ArrayList<Object>(slotKeys), 0), ValueType.OBJECTS);
+            executorService.readAsync(slotKeys.get(0), new DelegateDecoderCodec(valueCodec), command, slotKeys.toArray());
+        }
+
+        Map<Object, Object> values = new HashMap<Object, Object>(keys.length);
+        for (Object result : executorService.execute()) {
+            values.putAll((Map<Object, Object>) result);
+        }
+        Map<String, Object> result = new LinkedHashMap<String, Object>(values.size());
+        for (String key : keys) {
+            if (values.containsKey(key)) {
+                result.put(key, values.get(key));
+            }
+        }
+        if (lazy) {
+            return new LazyValueMap<String, V>(result);
+        }
+        return (Map<String, V>) result;
     }
 
     @Override
@@ -83,17 +119,43 @@ public class RedissonBuckets implements RBuckets {
             return false;
         }
 
-        List<Object> params = new ArrayList<Object>(buckets.size());
-        for (Entry<String, ?> entry : buckets.entrySet()) {
-            params.add(entry.getKey());
-            try {
-                params.add(codec.getValueEncoder().encode(entry.getValue()));
-            } catch (IOException e) {
-                throw new IllegalArgumentException(e);
-            }
+        Map<Integer, List<String>> slot2keys = groupBySlot(buckets.keySet());
+        if (slot2keys.size() == 1) {
+            List<Object> params = encode(buckets, buckets.keySet());
+            return commandExecutor.write(params.get(0).toString(), RedisCommands.MSETNX, params.toArray());
         }
 
-        return commandExecutor.write(params.get(0).toString(), RedisCommands.MSETNX, params.toArray());
+        CommandBatchService executorService = new CommandBatchService(commandExecutor.getConnectionManager());
+        for (List<String> slotKeys : slot2keys.values()) {
+            executorService.writeAsync(slotKeys.get(0), RedisCommands.MSETNX, encode(buckets, slotKeys).toArray());
+        }
+        List<?> results = executorService.execute();
+        if (!results.contains(Boolean.FALSE)) {
+            return true;
+        }
+
+        // rollback slots which have been set,
+        // keys changed by others since then are left untouched
+        CommandBatchService rollbackService = new CommandBatchService(commandExecutor.getConnectionManager());
+        int index = 0;
+        for (List<String> slotKeys : slot2keys.values()) {
+            if (Boolean.TRUE.equals(results.get(index++))) {
+                List<Object> params = encode(buckets, slotKeys);
+                List<Object> values = new ArrayList<Object>(slotKeys.size());
+                for (int i = 1; i < params.size(); i += 2) {
+                    values.add(params.get(i));
+                }
+                rollbackService.evalWriteAsync(slotKeys.get(0), StringCodec.INSTANCE, RedisCommands.EVAL_VOID,
+                        "for i, key in ipairs(KEYS) do "
+                          + "if redis.call('get', key) == ARGV[i] then "
+                              + "redis.call('del', key); "
+                          + "end; "
+                      + "end;",
+                        new ArrayList<Object>(slotKeys), values.toArray());
+            }
+        }
+        rollbackService.execute();
+        return false;
     }
 
     @Override
@@ -102,17 +164,46 @@ public class RedissonBuckets implements RBuckets {
             return;
         }
 
-        List<Object> params = new ArrayList<Object>(buckets.size());
-        for (Entry<String, ?> entry : buckets.entrySet()) {
-            params.add(entry.getKey());
+        Map<Integer, List<String>> slot2keys = groupBySlot(buckets.keySet());
+        if (slot2keys.size() == 1) {
+            List<Object> params = encode(buckets, buckets.keySet());
+            commandExecutor.write(params.get(0).toString(), RedisCommands.MSET, params.toArray());
+            return;
+        }
+
+        // MSET per slot, pipelined per node
+        CommandBatchService executorService = new CommandBatchService(commandExecutor.getConnectionManager());
+        for (List<String> slotKeys : slot2keys.values()) {
+            executorService.writeAsync(slotKeys.get(0), RedisCommands.MSET, encode(buckets, slotKeys).toArray());
+        }
+        executorService.execute();
+    }
+
+    private Map<Integer, List<String>> groupBySlot(Collection<String> keys) {
+        Map<Integer, List<String>> slot2keys = new LinkedHashMap<Integer, List<String>>();
+        for (String key : keys) {
+            int slot = commandExecutor.getConnectionManager().calcSlot(key);
+            List<String> slotKeys = slot2keys.get(slot);
+            if (slotKeys == null) {
+                slotKeys = new ArrayList<String>();
+                slot2keys.put(slot, slotKeys);
+            }
+            slotKeys.add(key);
+        }
+        return slot2keys;
+    }
+
+    private List<Object> encode(Map<String, ?> buckets, Collection<String> keys) {
+        List<Object> params = new ArrayList<Object>(keys.size() * 2);
+        for (String key : keys) {
+            params.add(key);
             try {
-                params.add(codec.getValueEncoder().encode(entry.getValue()));
+                params.add(codec.getValueEncoder().encode(buckets.get(key)));
             } catch (IOException e) {
                 throw new IllegalArgumentException(e);
             }
         }
-
-        commandExecutor.write(params.get(0).toString(), RedisCommands.MSET, params.toArray());
+        return params;
     }
 
 }
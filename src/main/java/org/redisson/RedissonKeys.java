@@ -63,11 +63,11 @@ public class RedissonKeys implements RKeys {
     @Override
     public Iterable<String> getKeysByPattern(final String pattern) {
         List<Iterable<String>> iterables = new ArrayList<Iterable<String>>();
-        for (final ClusterSlotRange slot : commandExecutor.getConnectionManager().getEntries().keySet()) {
+        for (final Integer slot : commandExecutor.getConnectionManager().getNodeSlots()) {
             Iterable<String> iterable = new Iterable<String>() {
                 @Override
                 public Iterator<String> iterator() {
-                    return createKeysIterator(slot.getStartSlot(), pattern);
+                    return createKeysIterator(slot, pattern);
                 }
             };
             iterables.add(iterable);
@@ -144,7 +144,8 @@ public class RedissonKeys implements RKeys {
         final Promise<Long> result = commandExecutor.getConnectionManager().newPromise();
         final AtomicReference<Throwable> failed = new AtomicReference<Throwable>();
         final AtomicLong count = new AtomicLong();
-        final AtomicLong executed = new AtomicLong(commandExecutor.getConnectionManager().getEntries().size());
+        Collection<Integer> slots = commandExecutor.getConnectionManager().getNodeSlots();
+        final AtomicLong executed = new AtomicLong(slots.size());
         final FutureListener<Long> listener = new FutureListener<Long>() {
             @Override
             public void operationComplete(Future<Long> future) throws Exception {
@@ -158,8 +159,8 @@ public class RedissonKeys implements RKeys {
             }
         };
 
-        for (ClusterSlotRange slot : commandExecutor.getConnectionManager().getEntries().keySet()) {
-            Future<Collection<String>> findFuture = commandExecutor.readAsync(slot.getStartSlot(), null, RedisCommands.KEYS, pattern);
+        for (Integer slot : slots) {
+            Future<Collection<String>> findFuture = commandExecutor.readAsync(slot, null, RedisCommands.KEYS, pattern);
             findFuture.addListener(new FutureListener<Collection<String>>() {
                 @Override
                 public void operationComplete(Future<Collection<String>> future) throws Exception {
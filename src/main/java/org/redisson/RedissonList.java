@@ -104,6 +104,14 @@ public class RedissonList<V> extends RedissonExpirable implements RList<V> {
         return commandExecutor.readAsync(getName(), codec, LRANGE, getName(), 0, -1);
     }
 
+    @Override
+    public Iterator<V> readAllIterator(int bufferSize) {
+        RedissonStreamIterator<V> iterator = new RedissonStreamIterator<V>(bufferSize);
+        RedisCommand<Object> command = new RedisCommand<Object>("LRANGE", iterator.getDecoder());
+        Future<Object> future = commandExecutor.readAsync(getName(), codec, command, getName(), 0, -1);
+        return iterator.subscribe(future);
+    }
+
     @Override
     public <T> T[] toArray(T[] a) {
         List<V> list = readAll();
@@ -120,7 +120,19 @@ public class RedissonListMultimapValues<V> extends RedissonExpirable implements
 
     @Override
     public Future<List<V>> readAllAsync() {
-        return commandExecutor.evalReadAsync(getName(), codec, EVAL_READALL,
+        return readAllAsync(EVAL_READALL);
+    }
+
+    @Override
+    public Iterator<V> readAllIterator(int bufferSize) {
+        RedissonStreamIterator<V> iterator = new RedissonStreamIterator<V>(bufferSize);
+        RedisCommand<Object> command = new RedisCommand<Object>("EVAL", iterator.getDecoder(), 6, ValueType.MAP_KEY);
+        Future<Object> future = readAllAsync(command);
+        return iterator.subscribe(future);
+    }
+
+    private <T, R> Future<R> readAllAsync(RedisCommand<T> command) {
+        return commandExecutor.evalReadAsync(getName(), codec, command,
                 "local expireDate = 92233720368547758; " +
                 "local expireDateScore = redis.call('zscore', KEYS[1], ARGV[2]); "
               + "if expireDateScore ~= false then "
@@ -31,6 +31,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.LazyDecoderCodec;
 import org.redisson.client.codec.ScanCodec;
 import org.redisson.client.codec.StringCodec;
 import org.redisson.client.protocol.RedisCommand;
@@ -130,7 +131,12 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
         List<Object> args = new ArrayList<Object>(keys.size() + 1);
         args.add(getName());
         args.addAll(keys);
-        return commandExecutor.readAsync(getName(), codec, new RedisCommand<Map<Object, Object>>("HMGET", new MapGetAllDecoder(args, 1), 2, ValueType.MAP_KEY, ValueType.MAP_VALUE), args.toArray());
+        boolean lazy = commandExecutor.getConnectionManager().getConfig().isLazyDecoding();
+        Codec valueCodec = codec;
+        if (lazy) {
+            valueCodec = new LazyDecoderCodec(codec);
+        }
+        return commandExecutor.readAsync(getName(), valueCodec, new RedisCommand<Map<Object, Object>>("HMGET", new MapGetAllDecoder(args, 1, lazy), 2, ValueType.MAP_KEY, ValueType.MAP_VALUE), args.toArray());
     }
 
     @Override
@@ -219,6 +225,14 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
         return commandExecutor.readAsync(getName(), codec, RedisCommands.HGETALL_ENTRY, getName());
     }
 
+    @Override
+    public Iterator<Entry<K, V>> readAllEntrySetIterator(int bufferSize) {
+        RedissonStreamIterator<Entry<K, V>> iterator = new RedissonStreamIterator<Entry<K, V>>(bufferSize, true);
+        RedisCommand<Object> command = new RedisCommand<Object>("HGETALL", iterator.getDecoder(), ValueType.MAP);
+        Future<Object> future = commandExecutor.readAsync(getName(), codec, command, getName());
+        return iterator.subscribe(future);
+    }
+
     @Override
     public V putIfAbsent(K key, V value) {
         return get(putIfAbsentAsync(key, value));
@@ -20,12 +20,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.LazyDecoderCodec;
 import org.redisson.client.codec.LongCodec;
 import org.redisson.client.codec.ScanCodec;
 import org.redisson.client.protocol.RedisCommand;
@@ -173,7 +175,12 @@ public class RedissonMapCache<K, V> extends RedissonMap<K, V> implements RMapCac
         args.add(System.currentTimeMillis());
         args.addAll(keys);
 
-        return commandExecutor.evalWriteAsync(getName(), codec, new RedisCommand<Map<Object, Object>>("EVAL", new MapGetAllDecoder(args, 1), 7, ValueType.MAP_KEY, ValueType.MAP_VALUE),
+        boolean lazy = commandExecutor.getConnectionManager().getConfig().isLazyDecoding();
+        Codec valueCodec = codec;
+        if (lazy) {
+            valueCodec = new LazyDecoderCodec(codec);
+        }
+        return commandExecutor.evalWriteAsync(getName(), valueCodec, new RedisCommand<Map<Object, Object>>("EVAL", new MapGetAllDecoder(args, 1, lazy), 7, ValueType.MAP_KEY, ValueType.MAP_VALUE),
                         "local expireHead = redis.call('zrange', KEYS[2], 0, 0, 'withscores');" +
                         "local currentTime = tonumber(table.remove(ARGV, 1)); " // index is the first parameter
                       + "local hasExpire = #expireHead == 2 and tonumber(expireHead[2]) <= currentTime; "
@@ -741,7 +748,19 @@ public class RedissonMapCache<K, V> extends RedissonMap<K, V> implements RMapCac
 
     @Override
     public Future<Set<java.util.Map.Entry<K, V>>> readAllEntrySetAsync() {
-        return commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_MAP_ENTRY,
+        return readAllEntrySetAsync(RedisCommands.EVAL_MAP_ENTRY);
+    }
+
+    @Override
+    public Iterator<java.util.Map.Entry<K, V>> readAllEntrySetIterator(int bufferSize) {
+        RedissonStreamIterator<java.util.Map.Entry<K, V>> iterator = new RedissonStreamIterator<java.util.Map.Entry<K, V>>(bufferSize, true);
+        RedisCommand<Object> command = new RedisCommand<Object>("EVAL", iterator.getDecoder(), ValueType.MAP);
+        Future<Object> future = readAllEntrySetAsync(command);
+        return iterator.subscribe(future);
+    }
+
+    private <T, R> Future<R> readAllEntrySetAsync(RedisCommand<T> command) {
+        return commandExecutor.evalWriteAsync(getName(), codec, command,
                 "local s = redis.call('hgetall', KEYS[1]); "
                 + "local result = {}; "
                 + "for i, v in ipairs(s) do "
@@ -380,6 +380,14 @@ public class RedissonScoredSortedSet<V> extends RedissonExpirable implements RSc
         return commandExecutor.readAsync(getName(), codec, RedisCommands.ZRANGE, getName(), startIndex, endIndex);
     }
 
+    @Override
+    public Iterator<V> valueRangeIterator(int startIndex, int endIndex, int bufferSize) {
+        RedissonStreamIterator<V> iterator = new RedissonStreamIterator<V>(bufferSize);
+        RedisCommand<Object> command = new RedisCommand<Object>("ZRANGE", iterator.getDecoder());
+        Future<Object> future = commandExecutor.readAsync(getName(), codec, command, getName(), startIndex, endIndex);
+        return iterator.subscribe(future);
+    }
+
     @Override
     public Collection<ScoredEntry<V>> entryRange(int startIndex, int endIndex) {
         return get(entryRangeAsync(startIndex, endIndex));
@@ -107,6 +107,14 @@ public class RedissonSet<V> extends RedissonExpirable implements RSet<V> {
         return commandExecutor.readAsync(getName(), codec, RedisCommands.SMEMBERS, getName());
     }
 
+    @Override
+    public Iterator<V> readAllIterator(int bufferSize) {
+        RedissonStreamIterator<V> iterator = new RedissonStreamIterator<V>(bufferSize);
+        RedisCommand<Object> command = new RedisCommand<Object>("SMEMBERS", iterator.getDecoder());
+        Future<Object> future = commandExecutor.readAsync(getName(), codec, command, getName());
+        return iterator.subscribe(future);
+    }
+
     @Override
     public Set<V> readAll() {
         return get(readAllAsync());
@@ -0,0 +1,202 @@
+/**
+ * Copyright 2014 Nikita Koksharov, Nickolay Borbit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.redisson.client.RedisException;
+import org.redisson.client.protocol.decoder.StreamListener;
+import org.redisson.client.protocol.decoder.StreamMultiDecoder;
+
+import io.netty.channel.Channel;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+
+/**
+ * Iterates over elements of multi-bulk reply while it's still being received.
+ * Connection reading is suspended once <code>bufferSize</code> elements
+ * are buffered and resumed when half of them have been consumed.
+ * Both suspend and resume are performed in channel event loop.
+ * Response timeout isn't counted while reading is suspended.
+ * Iterator which isn't read till the end should be closed.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <V> element type
+ */
+class RedissonStreamIterator<V> implements Iterator<V>, Closeable, StreamListener<Object> {
+
+    private static final Object NULL = new Object();
+    private static final Object END = new Object();
+
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<Object>();
+    private final int bufferSize;
+    private final StreamMultiDecoder decoder;
+
+    private volatile Future<Object> future;
+    private volatile boolean done;
+    private volatile Channel channel;
+    // modified only in channel event loop
+    private volatile boolean suspended;
+    private final AtomicBoolean resumeScheduled = new AtomicBoolean();
+
+    private final Runnable resumeTask = new Runnable() {
+        @Override
+        public void run() {
+            resumeScheduled.set(false);
+            if (suspended && (done || queue.size() <= bufferSize / 2)) {
+                suspended = false;
+                channel.config().setAutoRead(true);
+            }
+        }
+    };
+
+    private Object value;
+
+    public RedissonStreamIterator(int bufferSize) {
+        this(bufferSize, false);
+    }
+
+    public RedissonStreamIterator(int bufferSize, boolean entries) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize should be greater than 0");
+        }
+        this.bufferSize = bufferSize;
+        this.decoder = new StreamMultiDecoder(this, entries);
+    }
+
+    public StreamMultiDecoder getDecoder() {
+        return decoder;
+    }
+
+    public RedissonStreamIterator<V> subscribe(Future<Object> future) {
+        this.future = future;
+        future.addListener(new FutureListener<Object>() {
+            @Override
+            public void operationComplete(Future<Object> future) throws Exception {
+                done = true;
+                queue.add(END);
+                resume();
+            }
+        });
+        return this;
+    }
+
+    @Override
+    public void onElement(Channel channel, Object element) {
+        if (done) {
+            return;
+        }
+        if (element == null) {
+            element = NULL;
+        }
+        this.channel = channel;
+        queue.add(element);
+
+        if (queue.size() >= bufferSize && !suspended) {
+            suspended = true;
+            channel.config().setAutoRead(false);
+            // consumer may have drained the queue or reply may have been failed meanwhile
+            resumeTask.run();
+        }
+    }
+
+    private void resume() {
+        Channel channel = this.channel;
+        if (channel != null && suspended && resumeScheduled.compareAndSet(false, true)) {
+            channel.eventLoop().execute(resumeTask);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (value == null) {
+            value = take();
+        }
+        if (value == END) {
+            if (future.isCancelled()) {
+                return false;
+            }
+            if (!future.isSuccess()) {
+                throw future.cause() instanceof RedisException ?
+                        (RedisException) future.cause() :
+                        new RedisException("Unexpected exception while processing command", future.cause());
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private Object take() {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return queue.take();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public V next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Object result = value;
+        value = null;
+
+        if (suspended && queue.size() <= bufferSize / 2) {
+            resume();
+        }
+
+        if (result == NULL) {
+            return null;
+        }
+        return (V) result;
+    }
+
+    /**
+     * Stops reply reading and drops buffered elements.
+     * Command is cancelled if reply hasn't been fully received,
+     * its connection is reconnected and then released.
+     */
+    @Override
+    public void close() {
+        done = true;
+        value = null;
+        queue.clear();
+        queue.add(END);
+        future.cancel(false);
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+}
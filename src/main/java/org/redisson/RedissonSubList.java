@@ -83,6 +83,14 @@ public class RedissonSubList<V> extends RedissonList<V> implements RList<V> {
         return commandExecutor.readAsync(getName(), codec, LRANGE, getName(), fromIndex, toIndex.get()-1);
     }
 
+    @Override
+    public Iterator<V> readAllIterator(int bufferSize) {
+        RedissonStreamIterator<V> iterator = new RedissonStreamIterator<V>(bufferSize);
+        RedisCommand<Object> command = new RedisCommand<Object>("LRANGE", iterator.getDecoder());
+        Future<Object> future = commandExecutor.readAsync(getName(), codec, command, getName(), fromIndex, toIndex.get()-1);
+        return iterator.subscribe(future);
+    }
+
     @Override
     public Future<Boolean> addAsync(V e) {
         return addAllAsync(toIndex.get() - fromIndex, Collections.singleton(e));
@@ -50,6 +50,16 @@ public class SingleServerConfig extends BaseConfig<SingleServerConfig> {
      */
     private int connectionPoolSize = 100;
 
+    /**
+     * Minimum idle Redis connection amount for blocking commands
+     */
+    private int blockingConnectionMinimumIdleSize = 0;
+
+    /**
+     * Redis connection maximum pool size for blocking commands
+     */
+    private int blockingConnectionPoolSize = 0;
+
     /**
      * Database index used for Redis connection
      */
@@ -81,6 +91,8 @@ public class SingleServerConfig extends BaseConfig<SingleServerConfig> {
         setDnsMonitoringInterval(config.getDnsMonitoringInterval());
         setSubscriptionConnectionMinimumIdleSize(config.getSubscriptionConnectionMinimumIdleSize());
         setConnectionMinimumIdleSize(config.getConnectionMinimumIdleSize());
+        setBlockingConnectionPoolSize(config.getBlockingConnectionPoolSize());
+        setBlockingConnectionMinimumIdleSize(config.getBlockingConnectionMinimumIdleSize());
         setDatabase(config.getDatabase());
     }
 
@@ -196,6 +208,35 @@ public class SingleServerConfig extends BaseConfig<SingleServerConfig> {
         return connectionMinimumIdleSize;
     }
 
+    /**
+     * Redis connection pool size used only by blocking commands
+     * (BLPOP, BRPOP, BRPOPLPUSH), so they can't exhaust pool of other commands.
+     *
+     * Default is 0 (blocking commands use main connection pool)
+     *
+     */
+    public SingleServerConfig setBlockingConnectionPoolSize(int blockingConnectionPoolSize) {
+        this.blockingConnectionPoolSize = blockingConnectionPoolSize;
+        return this;
+    }
+    public int getBlockingConnectionPoolSize() {
+        return blockingConnectionPoolSize;
+    }
+
+    /**
+     * Minimum idle Redis connection amount for blocking commands.
+     *
+     * Default is 0
+     *
+     */
+    public SingleServerConfig setBlockingConnectionMinimumIdleSize(int blockingConnectionMinimumIdleSize) {
+        this.blockingConnectionMinimumIdleSize = blockingConnectionMinimumIdleSize;
+        return this;
+    }
+    public int getBlockingConnectionMinimumIdleSize() {
+        return blockingConnectionMinimumIdleSize;
+    }
+
     /**
      * Database index used for Redis connection
      * Default is <code>0</code>
@@ -235,4 +235,21 @@ public interface RBatchReactive {
      */
     Publisher<List<?>> execute();
 
+    /**
+     * Executes all operations accumulated during Reactive methods invocations atomically.
+     * Operations of each Redis node are wrapped into <code>MULTI</code> and <code>EXEC</code>.
+     * Transaction is atomic only, it doesn't provide optimistic locking.
+     *
+     * @return List with result object for each command
+     */
+    Publisher<List<?>> executeAtomic();
+
+    /**
+     * Executes all operations accumulated during Reactive methods invocations.
+     * Command replies are skipped without decoding.
+     *
+     * @return void
+     */
+    Publisher<Void> executeSkipResult();
+
 }
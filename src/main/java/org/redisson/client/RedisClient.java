@@ -20,6 +20,7 @@ import java.net.InetSocketAddress;
 import org.redisson.client.handler.CommandDecoder;
 import org.redisson.client.handler.CommandEncoder;
 import org.redisson.client.handler.CommandBatchEncoder;
+import org.redisson.client.handler.CommandsFlushHandler;
 import org.redisson.client.handler.CommandsQueue;
 import org.redisson.client.handler.ConnectionWatchdog;
 
@@ -51,6 +52,7 @@ public class RedisClient {
     private final ChannelGroup channels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
 
     private final long timeout;
+    private final RedisClientStats stats = new RedisClientStats();
     private boolean hasOwnGroup;
 
     public RedisClient(String host, int port) {
@@ -59,15 +61,33 @@ public class RedisClient {
     }
 
     public RedisClient(EventLoopGroup group, Class<? extends SocketChannel> socketChannelClass, String host, int port, int timeout) {
+        this(group, socketChannelClass, host, port, timeout, false);
+    }
+
+    public RedisClient(EventLoopGroup group, Class<? extends SocketChannel> socketChannelClass, String host, int port, int timeout,
+                            boolean pipelining) {
+        this(group, socketChannelClass, host, port, timeout, pipelining, 1, 0);
+    }
+
+    /**
+     * @param pipelining - send commands without waiting for replies of previously sent commands
+     * @param maxCommandsPerFlush - flushes are coalesced within event loop iteration if more than 1
+     * @param maxBytesPerFlush - pending bytes amount which triggers flush of coalesced commands
+     */
+    public RedisClient(EventLoopGroup group, Class<? extends SocketChannel> socketChannelClass, String host, int port, int timeout,
+                            final boolean pipelining, final int maxCommandsPerFlush, final int maxBytesPerFlush) {
         addr = new InetSocketAddress(host, port);
         bootstrap = new Bootstrap().channel(socketChannelClass).group(group).remoteAddress(addr);
         bootstrap.handler(new ChannelInitializer<Channel>() {
             @Override
             protected void initChannel(Channel ch) throws Exception {
-                ch.pipeline().addFirst(new ConnectionWatchdog(bootstrap, channels),
+                ch.pipeline().addLast(new ConnectionWatchdog(bootstrap, channels),
                     CommandEncoder.INSTANCE,
-                    CommandBatchEncoder.INSTANCE,
-                    new CommandsQueue(),
+                    CommandBatchEncoder.INSTANCE);
+                if (maxCommandsPerFlush > 1) {
+                    ch.pipeline().addLast(new CommandsFlushHandler(maxCommandsPerFlush, maxBytesPerFlush));
+                }
+                ch.pipeline().addLast(new CommandsQueue(pipelining),
                     new CommandDecoder());
             }
         });
@@ -80,6 +100,10 @@ public class RedisClient {
         return addr;
     }
 
+    public RedisClientStats getStats() {
+        return stats;
+    }
+
     long getTimeout() {
         return timeout;
     }
@@ -0,0 +1,73 @@
+/**
+ * Copyright 2014 Nikita Koksharov, Nickolay Borbit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Response latency and outstanding commands amount of Redis server.
+ * Latency is tracked as peak EWMA: it jumps to a higher sample at once,
+ * smoothly follows lower samples and decays while there are no samples.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class RedisClientStats {
+
+    private static final double SMOOTHING_FACTOR = 0.3;
+    private static final long DECAY_TIME = TimeUnit.SECONDS.toNanos(10);
+
+    private final AtomicInteger outstandingCommands = new AtomicInteger();
+
+    private volatile double latency;
+    private volatile long latencyUpdateTime = System.nanoTime();
+
+    public void commandSent() {
+        outstandingCommands.incrementAndGet();
+    }
+
+    /**
+     * @param time - response time in nanoseconds
+     */
+    public void commandCompleted(long time) {
+        outstandingCommands.decrementAndGet();
+
+        double current = getLatency();
+        if (time > current) {
+            latency = time;
+        } else {
+            latency = current + (time - current) * SMOOTHING_FACTOR;
+        }
+        latencyUpdateTime = System.nanoTime();
+    }
+
+    public int getOutstandingCommands() {
+        return outstandingCommands.get();
+    }
+
+    /**
+     * @return smoothed response latency in nanoseconds
+     */
+    public double getLatency() {
+        long elapsed = System.nanoTime() - latencyUpdateTime;
+        if (elapsed <= 0) {
+            return latency;
+        }
+        return latency * Math.exp(-(double) elapsed / DECAY_TIME);
+    }
+
+}
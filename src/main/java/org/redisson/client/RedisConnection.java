@@ -47,6 +47,8 @@ public class RedisConnection implements RedisCommands {
 
     private ReconnectListener reconnectListener;
     private long lastUsageTime;
+    private boolean shared;
+    private boolean blocking;
 
     private final Future<?> acquireFuture = ImmediateEventExecutor.INSTANCE.newSucceededFuture(this);
 
@@ -225,6 +227,30 @@ public class RedisConnection implements RedisCommands {
         return getClass().getSimpleName() + "@" + System.identityHashCode(this) + " [redisClient=" + redisClient + ", channel=" + channel + "]";
     }
 
+    /**
+     * Connection is shared by commands and never returned to pool
+     *
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    public void setShared(boolean shared) {
+        this.shared = shared;
+    }
+
+    /**
+     * Connection belongs to pool of blocking commands
+     *
+     */
+    public boolean isBlocking() {
+        return blocking;
+    }
+
+    public void setBlocking(boolean blocking) {
+        this.blocking = blocking;
+    }
+
     public Future<?> getAcquireFuture() {
         return acquireFuture;
     }
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2014 Nikita Koksharov, Nickolay Borbit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.client.codec;
+
+import java.io.IOException;
+
+import org.redisson.client.handler.State;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+import org.redisson.client.protocol.decoder.LazyValue;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Keeps values and map values as {@link LazyValue} bytes
+ * which are decoded by delegate codec on first access.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class LazyDecoderCodec implements Codec {
+
+    private final Codec delegate;
+
+    private final Decoder<Object> valueDecoder = new Decoder<Object>() {
+        @Override
+        public Object decode(ByteBuf buf, State state) throws IOException {
+            return new LazyValue(buf, delegate.getValueDecoder());
+        }
+    };
+
+    private final Decoder<Object> mapValueDecoder = new Decoder<Object>() {
+        @Override
+        public Object decode(ByteBuf buf, State state) throws IOException {
+            return new LazyValue(buf, delegate.getMapValueDecoder());
+        }
+    };
+
+    public LazyDecoderCodec(Codec delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return valueDecoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return delegate.getValueEncoder();
+    }
+
+    @Override
+    public Decoder<Object> getMapValueDecoder() {
+        return mapValueDecoder;
+    }
+
+    @Override
+    public Encoder getMapValueEncoder() {
+        return delegate.getMapValueEncoder();
+    }
+
+    @Override
+    public Decoder<Object> getMapKeyDecoder() {
+        return delegate.getMapKeyDecoder();
+    }
+
+    @Override
+    public Encoder getMapKeyEncoder() {
+        return delegate.getMapKeyEncoder();
+    }
+
+}
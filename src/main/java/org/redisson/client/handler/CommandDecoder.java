@@ -25,6 +25,7 @@ import java.util.Map;
 import org.redisson.client.RedisAskException;
 import org.redisson.client.RedisException;
 import org.redisson.client.RedisLoadingException;
+import org.redisson.client.RedisNoScriptException;
 import org.redisson.client.RedisMovedException;
 import org.redisson.client.RedisOutOfMemoryException;
 import org.redisson.client.RedisPubSubConnection;
@@ -35,9 +36,8 @@ import org.redisson.client.protocol.CommandsData;
 import org.redisson.client.protocol.Decoder;
 import org.redisson.client.protocol.QueueCommand;
 import org.redisson.client.protocol.RedisCommand.ValueType;
-import org.redisson.client.protocol.decoder.ListMultiDecoder;
 import org.redisson.client.protocol.decoder.MultiDecoder;
-import org.redisson.client.protocol.decoder.NestedMultiDecoder;
+import org.redisson.client.protocol.decoder.StreamMultiDecoder;
 import org.redisson.client.protocol.pubsub.Message;
 import org.redisson.client.protocol.pubsub.PubSubMessage;
 import org.redisson.client.protocol.pubsub.PubSubPatternMessage;
@@ -48,7 +48,7 @@ import org.slf4j.LoggerFactory;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.ReplayingDecoder;
+import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.util.CharsetUtil;
 import io.netty.util.concurrent.Promise;
 import io.netty.util.internal.PlatformDependent;
@@ -61,7 +61,7 @@ import io.netty.util.internal.PlatformDependent;
  * @author Nikita Koksharov
  *
  */
-public class CommandDecoder extends ReplayingDecoder<State> {
+public class CommandDecoder extends ByteToMessageDecoder {
 
     private final Logger log = LoggerFactory.getLogger(getClass());
 
@@ -73,6 +73,9 @@ public class CommandDecoder extends ReplayingDecoder<State> {
     private final Map<String, MultiDecoder<Object>> pubSubMessageDecoders = new HashMap<String, MultiDecoder<Object>>();
     private final Map<String, CommandData<Object, Object>> pubSubChannels = PlatformDependent.newConcurrentHashMap();
 
+    // decoding progress of current reply, kept between reads
+    private State state;
+
     public void addPubSubCommand(String channel, CommandData<Object, Object> data) {
         pubSubChannels.put(channel, data);
     }
@@ -82,132 +85,168 @@ public class CommandDecoder extends ReplayingDecoder<State> {
         QueueCommand data = ctx.channel().attr(CommandsQueue.CURRENT_COMMAND).get();
 
         if (log.isTraceEnabled()) {
-            log.trace("channel: {} message: {}", ctx.channel(), in.toString(0, in.writerIndex(), CharsetUtil.UTF_8));
+            log.trace("channel: {} message: {}", ctx.channel(), in.toString(in.readerIndex(), in.readableBytes(), CharsetUtil.UTF_8));
         }
-        if (state() == null) {
-            boolean makeCheckpoint = data != null;
-            if (data != null) {
-                if (data instanceof CommandsData) {
-                    makeCheckpoint = false;
-                } else {
-                    CommandData<Object, Object> cmd = (CommandData<Object, Object>)data;
-                    if (cmd.getCommand().getReplayMultiDecoder() != null 
-                            && (NestedMultiDecoder.class.isAssignableFrom(cmd.getCommand().getReplayMultiDecoder().getClass())
-                                    || ListMultiDecoder.class.isAssignableFrom(cmd.getCommand().getReplayMultiDecoder().getClass()))) {
-                        makeCheckpoint = false;
-                    }
-                }
-            }
-            state(new State(makeCheckpoint));
+        if (state == null) {
+            state = new State();
         }
 
-        state().setDecoderState(null);
-
         if (data == null) {
-            decode(in, null, null, ctx.channel());
+            if (!decode(in, null, ctx.channel())) {
+                return;
+            }
         } else if (data instanceof CommandData) {
             CommandData<Object, Object> cmd = (CommandData<Object, Object>)data;
             try {
-                if (state().getLevels().size() > 0) {
-                    decodeFromCheckpoint(ctx, in, data, cmd);
-                } else {
-                    decode(in, cmd, null, ctx.channel());
+                if (!decode(in, cmd, ctx.channel())) {
+                    return;
                 }
             } catch (IOException e) {
                 cmd.tryFailure(e);
             }
         } else if (data instanceof CommandsData) {
             CommandsData commands = (CommandsData)data;
-
-            decodeCommandBatch(ctx, in, data, commands);
-            return;
+            if (!decodeCommandBatch(ctx, in, data, commands)) {
+                return;
+            }
         }
-        
-        ctx.pipeline().get(CommandsQueue.class).sendNextCommand(ctx.channel());
 
-        state(null);
+        state = null;
+        ctx.pipeline().get(CommandsQueue.class).sendNextCommand(ctx.channel());
     }
 
-    private void decodeFromCheckpoint(ChannelHandlerContext ctx, ByteBuf in, QueueCommand data,
-            CommandData<Object, Object> cmd) throws IOException {
-        if (state().getLevels().size() == 2) {
-            StateLevel secondLevel = state().getLevels().get(1);
-            
-            if (secondLevel.getParts().isEmpty()) {
-                state().getLevels().remove(1);
-            }
+    private boolean decodeCommandBatch(ChannelHandlerContext ctx, ByteBuf in, QueueCommand data,
+                    CommandsData commandBatch) {
+        List<CommandData<?, ?>> commands = commandBatch.getCommands();
+        int multiIndex = commandBatch.getMultiIndex();
+        int execIndex = -1;
+        if (commandBatch.isAtomic()) {
+            execIndex = commands.size() - 1;
         }
-        
-        if (state().getLevels().size() == 2) {
-            StateLevel firstLevel = state().getLevels().get(0);
-            StateLevel secondLevel = state().getLevels().get(1);
-            
-            decodeList(in, cmd, firstLevel.getParts(), ctx.channel(), secondLevel.getSize(), secondLevel.getParts());
-            
-            Channel channel = ctx.channel();
-            MultiDecoder<Object> decoder = messageDecoder(cmd, firstLevel.getParts(), channel);
-            if (decoder != null) {
-                Object result = decoder.decode(firstLevel.getParts(), state());
-                if (data != null) {
-                    handleResult(cmd, null, result, true, channel);
+        int i = state.getBatchIndex();
+        while (in.isReadable() && i < commands.size()) {
+            CommandData<Object, Object> cmd = (CommandData<Object, Object>) commands.get(i);
+            try {
+                if (i == execIndex) {
+                    if (!decodeExec(in, commands.subList(multiIndex + 1, execIndex), cmd, ctx.channel())) {
+                        return false;
+                    }
+                } else if ((commandBatch.isSkipResult() || commandBatch.isAtomic())
+                                && in.getByte(in.readerIndex()) != '-') {
+                    int index = in.readerIndex();
+                    if (!skipReply(in)) {
+                        in.readerIndex(index);
+                        return false;
+                    }
+                    // queued command is completed by EXEC reply
+                    if (i <= multiIndex || !commandBatch.isAtomic()) {
+                        cmd.getPromise().trySuccess(null);
+                    }
+                } else if (!decode(in, cmd, ctx.channel())) {
+                    return false;
                 }
+            } catch (IOException e) {
+                cmd.tryFailure(e);
             }
+            i++;
+            state.setBatchIndex(i);
+            state.setDecoderState(null);
         }
-        if (state().getLevels().size() == 1) {
-            StateLevel firstLevel = state().getLevels().get(0);
-            if (firstLevel.getParts().isEmpty()) {
-                state().resetLevel();
-                decode(in, cmd, null, ctx.channel());
-            } else {
-                decodeList(in, cmd, null, ctx.channel(), firstLevel.getSize(), firstLevel.getParts());
-            }
+
+        if (i < commands.size()) {
+            return false;
         }
-    }
 
-    private void decodeCommandBatch(ChannelHandlerContext ctx, ByteBuf in, QueueCommand data,
-                    CommandsData commandBatch) {
-        int i = state().getBatchIndex();
+        Throwable error = null;
+        for (CommandData<?, ?> cmd : commands) {
+            if (cmd.cause() != null) {
+                error = cmd.cause();
+            }
+        }
 
-        RedisException error = null;
-        while (in.writerIndex() > in.readerIndex()) {
-            CommandData<Object, Object> cmd = null;
-            try {
-                checkpoint();
-                state().setBatchIndex(i);
-                cmd = (CommandData<Object, Object>) commandBatch.getCommands().get(i);
-                decode(in, cmd, null, ctx.channel());
-                i++;
-            } catch (IOException e) {
-                cmd.tryFailure(e);
+        Promise<Void> promise = commandBatch.getPromise();
+        if (error != null) {
+            if (!promise.tryFailure(error) && promise.cause() instanceof RedisTimeoutException) {
+                log.warn("response has been skipped due to timeout! channel: {}, command: {}", ctx.channel(), data);
             }
-            if (!cmd.isSuccess()) {
-                error = (RedisException) cmd.cause();
+        } else {
+            if (!promise.trySuccess(null) && promise.cause() instanceof RedisTimeoutException) {
+                log.warn("response has been skipped due to timeout! channel: {}, command: {}", ctx.channel(), data);
             }
         }
+        return true;
+    }
 
-        if (i == commandBatch.getCommands().size()) {
-            Promise<Void> promise = commandBatch.getPromise();
-            if (error != null) {
-                if (!promise.tryFailure(error) && promise.cause() instanceof RedisTimeoutException) {
-                    log.warn("response has been skipped due to timeout! channel: {}, command: {}", ctx.channel(), data);
+    /**
+     * Decodes reply elements available in buffer. Partially received element is left
+     * in buffer till next read, while decoded elements are kept in state levels
+     * and never decoded again.
+     *
+     * @return <code>true</code> if reply has been decoded completely
+     */
+    private boolean decode(ByteBuf in, CommandData<Object, Object> data, Channel channel) throws IOException {
+        while (in.isReadable()) {
+            int index = in.readerIndex();
+            StateLevel level = state.getLastLevel();
+            List<Object> parts = null;
+            if (level != null) {
+                parts = level.getParts();
+            }
+
+            int code = in.readByte();
+            if (code == '*') {
+                if (!isLineReadable(in)) {
+                    in.readerIndex(index);
+                    return false;
                 }
+                long size = readLong(in);
+                state.addLevel(new StateLevel(size, new ArrayList<Object>((int) Math.max(Math.min(size, 1024), 0))));
             } else {
-                if (!promise.trySuccess(null) && promise.cause() instanceof RedisTimeoutException) {
-                    log.warn("response has been skipped due to timeout! channel: {}, command: {}", ctx.channel(), data);
+                if (!decodeValue(code, in, data, parts, channel)) {
+                    in.readerIndex(index);
+                    return false;
+                }
+                if (level == null) {
+                    return true;
                 }
+                level.incDecodedElements();
+                streamElement(data, level, channel);
             }
-            
-            ctx.pipeline().get(CommandsQueue.class).sendNextCommand(ctx.channel());
 
-            state(null);
-        } else {
-            checkpoint();
-            state().setBatchIndex(i);
+            if (decodeLevels(data, channel)) {
+                return true;
+            }
         }
+        return false;
     }
 
-    private void decode(ByteBuf in, CommandData<Object, Object> data, List<Object> parts, Channel channel) throws IOException {
-        int code = in.readByte();
+    private boolean decodeValue(int code, ByteBuf in, CommandData<Object, Object> data, List<Object> parts, Channel channel) throws IOException {
+        if (code == '$') {
+            if (!isLineReadable(in)) {
+                return false;
+            }
+            long size = readLong(in);
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(
+                        "Java only supports arrays up to " + Integer.MAX_VALUE + " in size");
+            }
+            Object result = null;
+            if (size != -1) {
+                if (in.readableBytes() < size + 2) {
+                    return false;
+                }
+                ByteBuf buf = readBytes(in, (int) size);
+                Decoder<Object> decoder = selectDecoder(data, parts);
+                result = decoder.decode(buf, state);
+            }
+            handleResult(data, parts, result, false, channel);
+            return true;
+        }
+
+        if (!isLineReadable(in)) {
+            return false;
+        }
+
         if (code == '+') {
             String result = in.readBytes(in.bytesBefore((byte) '\r')).toString(CharsetUtil.UTF_8);
             in.skipBytes(2);
@@ -230,6 +269,9 @@ public class CommandDecoder extends ReplayingDecoder<State> {
             } else if (error.startsWith("LOADING")) {
                 data.tryFailure(new RedisLoadingException(error
                         + ". channel: " + channel + " data: " + data));
+            } else if (error.startsWith("NOSCRIPT")) {
+                data.tryFailure(new RedisNoScriptException(error
+                        + ". channel: " + channel + " data: " + data));
             } else if (error.startsWith("OOM")) {
                 data.tryFailure(new RedisOutOfMemoryException(error.split("OOM ")[1]
                         + ". channel: " + channel + " data: " + data));
@@ -246,67 +288,152 @@ public class CommandDecoder extends ReplayingDecoder<State> {
         } else if (code == ':') {
             Long result = readLong(in);
             handleResult(data, parts, result, false, channel);
-        } else if (code == '$') {
-            ByteBuf buf = readBytes(in);
-            Object result = null;
-            if (buf != null) {
-                Decoder<Object> decoder = selectDecoder(data, parts);
-                result = decoder.decode(buf, state());
+        } else {
+            throw new IllegalStateException("Can't decode replay " + (char)code);
+        }
+        return true;
+    }
+
+    /**
+     * Completes all fully decoded levels starting from the deepest one.
+     *
+     * @return <code>true</code> if top level has been completed
+     */
+    private boolean decodeLevels(CommandData<Object, Object> data, Channel channel) {
+        while (true) {
+            StateLevel level = state.getLastLevel();
+            if (!level.isDone()) {
+                return false;
             }
-            handleResult(data, parts, result, false, channel);
-        } else if (code == '*') {
-            int level = state().incLevel();
-            
-            long size = readLong(in);
-            List<Object> respParts;
-            if (state().getLevels().size()-1 >= level) {
-                StateLevel stateLevel = state().getLevels().get(level);
-                respParts = stateLevel.getParts();
-                size = stateLevel.getSize();
-            } else {
-                respParts = new ArrayList<Object>();
-                if (state().isMakeCheckpoint()) {
-                    state().addLevel(new StateLevel(size, respParts));
+
+            state.removeLastLevel();
+            StateLevel parentLevel = state.getLastLevel();
+            List<Object> parts = null;
+            if (parentLevel != null) {
+                parts = parentLevel.getParts();
+            }
+
+            List<Object> respParts = level.getParts();
+            MultiDecoder<Object> decoder = messageDecoder(data, respParts, channel);
+            if (decoder != null) {
+                Object result = decoder.decode(respParts, state);
+                if (data != null) {
+                    handleResult(data, parts, result, true, channel);
+                } else if (result instanceof Message) {
+                    handleMultiResult(data, null, channel, result);
                 }
             }
-            
-            decodeList(in, data, parts, channel, size, respParts);
-        } else {
-            throw new IllegalStateException("Can't decode replay " + (char)code);
+
+            if (parentLevel == null) {
+                return true;
+            }
+            parentLevel.incDecodedElements();
+            streamElement(data, parentLevel, channel);
+        }
+    }
+
+    private void streamElement(CommandData<Object, Object> data, StateLevel level, Channel channel) {
+        if (data != null && state.getLevels().size() == 1
+                && data.getCommand().getReplayMultiDecoder() instanceof StreamMultiDecoder) {
+            StreamMultiDecoder decoder = (StreamMultiDecoder) data.getCommand().getReplayMultiDecoder();
+            decoder.onElement(level.getParts(), channel);
         }
     }
 
-    private void decodeList(ByteBuf in, CommandData<Object, Object> data, List<Object> parts,
-            Channel channel, long size, List<Object> respParts)
-                    throws IOException {
-        for (int i = respParts.size(); i < size; i++) {
-            decode(in, data, respParts, channel);
-            if (state().isMakeCheckpoint()) {
-                checkpoint();
+    /**
+     * Decodes <code>EXEC</code> reply elements into queued commands
+     *
+     * @return <code>true</code> if reply has been decoded completely
+     */
+    private boolean decodeExec(ByteBuf in, List<CommandData<?, ?>> queued, CommandData<Object, Object> exec, Channel channel) throws IOException {
+        int execIndex = state.getExecIndex();
+        if (execIndex == -1) {
+            if (!isLineReadable(in)) {
+                return false;
+            }
+            int code = in.getByte(in.readerIndex());
+            if (code == '-') {
+                decode(in, exec, channel);
+                failQueued(queued, exec.cause());
+                return true;
+            }
+            if (code != '*') {
+                throw new IllegalStateException("Can't decode EXEC replay " + (char)code);
+            }
+            in.skipBytes(1);
+            if (readLong(in) == -1) {
+                RedisException cause = new RedisException("Transaction has been aborted. channel: " + channel);
+                exec.tryFailure(cause);
+                failQueued(queued, cause);
+                return true;
             }
+            execIndex = 0;
+            state.setExecIndex(execIndex);
         }
 
-        MultiDecoder<Object> decoder = messageDecoder(data, respParts, channel);
-        if (decoder == null) {
-            return;
+        while (execIndex < queued.size()) {
+            if (!in.isReadable()) {
+                return false;
+            }
+            CommandData<Object, Object> cmd = (CommandData<Object, Object>) queued.get(execIndex);
+            try {
+                if (!decode(in, cmd, channel)) {
+                    return false;
+                }
+            } catch (IOException e) {
+                cmd.tryFailure(e);
+            }
+            execIndex++;
+            state.setExecIndex(execIndex);
+            state.setDecoderState(null);
         }
+        exec.getPromise().trySuccess(null);
+        return true;
+    }
 
-        Object result = decoder.decode(respParts, state());
-        if (data != null) {
-            handleResult(data, parts, result, true, channel);
-            return;
+    private void failQueued(List<CommandData<?, ?>> queued, Throwable cause) {
+        for (CommandData<?, ?> cmd : queued) {
+            // bypasses redirect handling of batch command
+            cmd.getPromise().tryFailure(cause);
         }
+    }
 
-        if (result instanceof Message) {
-            // store current message index
-            checkpoint();
+    /**
+     * Skips reply without decoding it
+     *
+     * @return <code>true</code> if reply has been skipped completely
+     */
+    private boolean skipReply(ByteBuf in) throws IOException {
+        if (!isLineReadable(in)) {
+            return false;
+        }
 
-            handleMultiResult(data, null, channel, result);
-            // has next messages?
-            if (in.writerIndex() > in.readerIndex()) {
-                decode(in, data, null, channel);
+        int code = in.readByte();
+        if (code == '$') {
+            long size = readLong(in);
+            if (size == -1) {
+                return true;
+            }
+            if (in.readableBytes() < size + 2) {
+                return false;
             }
+            in.skipBytes((int) size + 2);
+        } else if (code == '*') {
+            long size = readLong(in);
+            for (long i = 0; i < size; i++) {
+                if (!skipReply(in)) {
+                    return false;
+                }
+            }
+        } else {
+            in.skipBytes(in.bytesBefore((byte) CR) + 2);
         }
+        return true;
+    }
+
+    private boolean isLineReadable(ByteBuf in) {
+        int length = in.bytesBefore((byte) CR);
+        return length != -1 && in.readableBytes() > length + 1;
     }
 
     private void handleMultiResult(CommandData<Object, Object> data, List<Object> parts,
@@ -388,7 +515,7 @@ public class CommandDecoder extends ReplayingDecoder<State> {
         Decoder<Object> decoder = data.getCommand().getReplayDecoder();
         if (parts != null) {
             MultiDecoder<Object> multiDecoder = data.getCommand().getReplayMultiDecoder();
-            if (multiDecoder.isApplicable(parts.size(), state())) {
+            if (multiDecoder.isApplicable(parts.size(), state)) {
                 decoder = multiDecoder;
             }
         }
@@ -420,6 +547,10 @@ public class CommandDecoder extends ReplayingDecoder<State> {
         if (size == -1) {
             return null;
         }
+        return readBytes(is, size);
+    }
+
+    private ByteBuf readBytes(ByteBuf is, int size) throws IOException {
         ByteBuf buffer = is.readSlice(size);
         int cr = is.readByte();
         int lf = is.readByte();
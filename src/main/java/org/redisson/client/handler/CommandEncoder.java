@@ -15,15 +15,16 @@
  */
 package org.redisson.client.handler;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.io.IOException;
 
+import org.redisson.client.codec.Codec;
 import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.ByteBufEncoder;
 import org.redisson.client.protocol.CommandData;
 import org.redisson.client.protocol.DefaultParamsEncoder;
 import org.redisson.client.protocol.Encoder;
-import org.redisson.client.protocol.RedisCommand.ValueType;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.client.protocol.RedisCommand.EncoderType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,44 +54,24 @@ public class CommandEncoder extends MessageToByteEncoder<CommandData<?, ?>> {
     private static final char ARGS_PREFIX = '*';
     private static final char BYTES_PREFIX = '$';
     private static final byte[] CRLF = "\r\n".getBytes();
+    // '$' + max int length + CRLF
+    private static final int MAX_BYTES_HEADER_LENGTH = 1 + 10 + 2;
 
-    private static final Map<Long, byte[]> longCache = new HashMap<Long, byte[]>();
+    private static final byte[][] longCache = new byte[256][];
     
     @Override
     protected void encode(ChannelHandlerContext ctx, CommandData<?, ?> msg, ByteBuf out) throws Exception {
+        RedisCommand<?> command = msg.getCommand();
+        Object[] params = msg.getParams();
+
         out.writeByte(ARGS_PREFIX);
-        int len = 1 + msg.getParams().length;
-        if (msg.getCommand().getSubName() != null) {
-            len++;
-        }
-        out.writeBytes(convert(len));
+        out.writeBytes(convert(command.getHeaderArgsCount() + params.length));
         out.writeBytes(CRLF);
+        out.writeBytes(command.getEncodedHeader());
 
-        writeArgument(out, msg.getCommand().getName().getBytes("UTF-8"));
-        if (msg.getCommand().getSubName() != null) {
-            writeArgument(out, msg.getCommand().getSubName().getBytes("UTF-8"));
-        }
-        int i = 1;
-        for (Object param : msg.getParams()) {
-            Encoder encoder = paramsEncoder;
-            if (msg.getCommand().getInParamType().size() == 1) {
-                if (msg.getCommand().getInParamIndex() == i
-                        && msg.getCommand().getInParamType().get(0) == ValueType.OBJECT) {
-                    encoder = msg.getCodec().getValueEncoder();
-                } else if (msg.getCommand().getInParamIndex() <= i
-                        && msg.getCommand().getInParamType().get(0) != ValueType.OBJECT) {
-                    encoder = selectEncoder(msg, i - msg.getCommand().getInParamIndex());
-                }
-            } else {
-                if (msg.getCommand().getInParamIndex() <= i) {
-                    int paramNum = i - msg.getCommand().getInParamIndex();
-                    encoder = selectEncoder(msg, paramNum);
-                }
-            }
-
-            writeArgument(out, encoder.encode(param));
-
-            i++;
+        for (int i = 0; i < params.length; i++) {
+            Encoder encoder = selectEncoder(msg.getCodec(), command.getEncoderType(i));
+            writeArgument(out, encoder, params[i]);
         }
 
         if (log.isTraceEnabled()) {
@@ -98,35 +79,48 @@ public class CommandEncoder extends MessageToByteEncoder<CommandData<?, ?>> {
         }
     }
 
-    private Encoder selectEncoder(CommandData<?, ?> msg, int param) {
-        int typeIndex = 0;
-        List<ValueType> inParamType = msg.getCommand().getInParamType();
-        if (inParamType.size() > 1) {
-            typeIndex = param;
-        }
-        if (inParamType.get(typeIndex) == ValueType.MAP) {
-            if (param % 2 != 0) {
-                return msg.getCodec().getMapValueEncoder();
-            } else {
-                return msg.getCodec().getMapKeyEncoder();
-            }
-        }
-        if (inParamType.get(typeIndex) == ValueType.MAP_KEY) {
-            return msg.getCodec().getMapKeyEncoder();
-        }
-        if (inParamType.get(typeIndex) == ValueType.MAP_VALUE) {
-            return msg.getCodec().getMapValueEncoder();
-        }
-        if (inParamType.get(typeIndex) == ValueType.OBJECTS) {
-            return msg.getCodec().getValueEncoder();
+    private Encoder selectEncoder(Codec codec, EncoderType type) {
+        if (type == null) {
+            throw new IllegalStateException();
+        }
+        switch (type) {
+        case PARAMS:
+            return paramsEncoder;
+        case VALUE:
+            return codec.getValueEncoder();
+        case MAP_KEY:
+            return codec.getMapKeyEncoder();
+        case MAP_VALUE:
+            return codec.getMapValueEncoder();
+        default:
+            return StringCodec.INSTANCE.getValueEncoder();
         }
-        if (inParamType.get(typeIndex) == ValueType.OBJECT) {
-            return msg.getCodec().getValueEncoder();
+    }
+
+    private void writeArgument(ByteBuf out, Encoder encoder, Object param) throws IOException {
+        if (!(encoder instanceof ByteBufEncoder)) {
+            writeArgument(out, encoder.encode(param));
+            return;
         }
-        if (inParamType.get(typeIndex) == ValueType.STRING) {
-            return StringCodec.INSTANCE.getValueEncoder();
+
+        // header space is reserved and filled after the value has been written
+        int headerIndex = out.writerIndex();
+        out.ensureWritable(MAX_BYTES_HEADER_LENGTH);
+        out.writerIndex(headerIndex + MAX_BYTES_HEADER_LENGTH);
+        ((ByteBufEncoder) encoder).encode(param, out);
+
+        int valueIndex = headerIndex + MAX_BYTES_HEADER_LENGTH;
+        int length = out.writerIndex() - valueIndex;
+        byte[] lengthBytes = convert(length);
+        out.writerIndex(headerIndex);
+        out.writeByte(BYTES_PREFIX);
+        out.writeBytes(lengthBytes);
+        out.writeBytes(CRLF);
+        if (out.writerIndex() < valueIndex) {
+            out.setBytes(out.writerIndex(), out, valueIndex, length);
         }
-        throw new IllegalStateException();
+        out.writerIndex(out.writerIndex() + length);
+        out.writeBytes(CRLF);
     }
 
     private void writeArgument(ByteBuf out, byte[] arg) {
@@ -198,7 +192,7 @@ public class CommandEncoder extends MessageToByteEncoder<CommandData<?, ?>> {
 
     public static byte[] convert(long i) {
         if (i >= 0 && i <= 255) {
-            return longCache.get(i);
+            return longCache[(int) i];
         }
         return toChars(i);
     }
@@ -211,9 +205,8 @@ public class CommandEncoder extends MessageToByteEncoder<CommandData<?, ?>> {
     }
 
     static {
-        for (long i = 0; i < 256; i++) {
-            byte[] value = toChars(i);
-            longCache.put(i, value);
+        for (int i = 0; i < longCache.length; i++) {
+            longCache[i] = toChars(i);
         }
     }
     
@@ -0,0 +1,114 @@
+/**
+ * Copyright 2014 Nikita Koksharov, Nickolay Borbit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.client.handler;
+
+import org.redisson.client.protocol.CommandsData;
+import org.redisson.client.protocol.QueueCommand;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundBuffer;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * Coalesces flushes of commands written during the same event loop iteration.
+ * Flush is delayed till the end of current iteration unless amount of written commands
+ * reaches <code>maxCommands</code> or pending bytes reach <code>maxBytes</code>.
+ * Each command of <code>CommandsData</code> batch is counted.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class CommandsFlushHandler extends ChannelOutboundHandlerAdapter {
+
+    private final int maxCommands;
+    private final long maxBytes;
+
+    private ChannelHandlerContext ctx;
+    private int pendingCommands;
+    private boolean flushScheduled;
+
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flushScheduled = false;
+            if (pendingCommands > 0) {
+                flushNow(ctx);
+            }
+        }
+    };
+
+    public CommandsFlushHandler(int maxCommands, long maxBytes) {
+        this.maxCommands = maxCommands;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (msg instanceof CommandsData) {
+            pendingCommands += ((CommandsData) msg).getCommands().size();
+        } else if (msg instanceof QueueCommand) {
+            pendingCommands++;
+        }
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception {
+        if (pendingCommands == 0
+                || pendingCommands >= maxCommands
+                    || pendingBytes(ctx) >= maxBytes) {
+            flushNow(ctx);
+            return;
+        }
+
+        if (!flushScheduled) {
+            flushScheduled = true;
+            ctx.channel().eventLoop().execute(flushTask);
+        }
+    }
+
+    @Override
+    public void disconnect(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+        flushNow(ctx);
+        ctx.disconnect(promise);
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+        flushNow(ctx);
+        ctx.close(promise);
+    }
+
+    private long pendingBytes(ChannelHandlerContext ctx) {
+        ChannelOutboundBuffer buffer = ctx.channel().unsafe().outboundBuffer();
+        if (buffer == null) {
+            return 0;
+        }
+        return buffer.totalPendingWriteBytes();
+    }
+
+    private void flushNow(ChannelHandlerContext ctx) {
+        pendingCommands = 0;
+        ctx.flush();
+    }
+
+}
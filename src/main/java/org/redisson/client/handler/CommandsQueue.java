@@ -15,10 +15,14 @@
  */
 package org.redisson.client.handler;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Queue;
 
 import org.redisson.client.protocol.CommandData;
+import org.redisson.client.protocol.CommandsData;
 import org.redisson.client.protocol.QueueCommand;
 import org.redisson.client.protocol.QueueCommandHolder;
 
@@ -32,7 +36,12 @@ import io.netty.util.AttributeKey;
 import io.netty.util.internal.PlatformDependent;
 
 /**
- *
+ * Keeps the order of commands sent via channel.
+ * <p/>
+ * By default next command is written only after the reply of the previous one
+ * has been decoded. In pipelining mode commands are written one after another
+ * and replies are matched to them in FIFO order. Pub/sub and blocking commands
+ * are always sent exclusively.
  *
  * @author Nikita Koksharov
  *
@@ -43,26 +52,60 @@ public class CommandsQueue extends ChannelOutboundHandlerAdapter {
 
     private final Queue<QueueCommandHolder> queue = PlatformDependent.newMpscQueue();
 
+    // commands written to channel and waiting for reply, accessed only from channel event loop
+    private final Deque<QueueCommandHolder> sentQueue = new ArrayDeque<QueueCommandHolder>();
+
+    private final boolean pipelining;
+
     private final ChannelFutureListener listener = new ChannelFutureListener() {
         @Override
         public void operationComplete(ChannelFuture future) throws Exception {
             if (!future.isSuccess()) {
-                sendNextCommand(future.channel());
+                removeCommand(future);
+                updateCurrentCommand(future.channel());
+                sendData(future.channel());
             }
         }
     };
 
+    public CommandsQueue() {
+        this(false);
+    }
+
+    public CommandsQueue(boolean pipelining) {
+        this.pipelining = pipelining;
+    }
+
     public void sendNextCommand(Channel channel) {
-        channel.attr(CommandsQueue.CURRENT_COMMAND).remove();
-        queue.poll();
+        sentQueue.poll();
+        updateCurrentCommand(channel);
         sendData(channel);
     }
 
+    private void removeCommand(ChannelFuture future) {
+        for (Iterator<QueueCommandHolder> iterator = sentQueue.iterator(); iterator.hasNext();) {
+            QueueCommandHolder holder = iterator.next();
+            if (holder.getChannelPromise() == future) {
+                iterator.remove();
+                break;
+            }
+        }
+    }
+
+    private void updateCurrentCommand(Channel channel) {
+        QueueCommandHolder holder = sentQueue.peek();
+        if (holder != null && holder.getCommand().getPubSubOperations().isEmpty()) {
+            channel.attr(CURRENT_COMMAND).set(holder.getCommand());
+        } else {
+            channel.attr(CURRENT_COMMAND).remove();
+        }
+    }
+
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
         if (msg instanceof QueueCommand) {
             QueueCommand data = (QueueCommand) msg;
-            QueueCommandHolder holder = queue.peek();
+            QueueCommandHolder holder = sentQueue.peekLast();
             if (holder != null && holder.getCommand() == data) {
                 super.write(ctx, msg, promise);
             } else {
@@ -74,9 +117,42 @@ public class CommandsQueue extends ChannelOutboundHandlerAdapter {
         }
     }
 
+    private boolean isExclusive(QueueCommand data) {
+        if (!data.getPubSubOperations().isEmpty()) {
+            return true;
+        }
+        if (data instanceof CommandsData) {
+            for (CommandData<?, ?> commandData : ((CommandsData) data).getCommands()) {
+                if (QueueCommand.TIMEOUTLESS_COMMANDS.contains(commandData.getCommand().getName())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return QueueCommand.TIMEOUTLESS_COMMANDS.contains(((CommandData<?, ?>) data).getCommand().getName());
+    }
+
+    private boolean canSend(QueueCommandHolder command) {
+        QueueCommandHolder last = sentQueue.peekLast();
+        if (last == null) {
+            return true;
+        }
+        return pipelining
+                && !isExclusive(last.getCommand())
+                    && !isExclusive(command.getCommand());
+    }
+
     private void sendData(Channel ch) {
-        QueueCommandHolder command = queue.peek();
-        if (command != null && command.trySend()) {
+        boolean written = false;
+        while (true) {
+            QueueCommandHolder command = queue.peek();
+            if (command == null || !canSend(command) || !command.trySend()) {
+                break;
+            }
+
+            queue.poll();
+            sentQueue.add(command);
+
             QueueCommand data = command.getCommand();
             List<CommandData<Object, Object>> pubSubOps = data.getPubSubOperations();
             if (!pubSubOps.isEmpty()) {
@@ -85,12 +161,17 @@ public class CommandsQueue extends ChannelOutboundHandlerAdapter {
                         ch.pipeline().get(CommandDecoder.class).addPubSubCommand(channel.toString(), cd);
                     }
                 }
-            } else {
+            } else if (sentQueue.size() == 1) {
                 ch.attr(CURRENT_COMMAND).set(data);
             }
 
             command.getChannelPromise().addListener(listener);
-            ch.writeAndFlush(data, command.getChannelPromise());
+            ch.write(data, command.getChannelPromise());
+            written = true;
+        }
+
+        if (written) {
+            ch.flush();
         }
     }
 
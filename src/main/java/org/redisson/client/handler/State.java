@@ -24,37 +24,29 @@ import org.redisson.client.protocol.decoder.DecoderState;
 public class State {
 
     private int batchIndex;
+    private int execIndex = -1;
     private DecoderState decoderState;
 
-    private int level = -1;
     private List<StateLevel> levels;
-    private DecoderState decoderStateCopy;
-    private final boolean makeCheckpoint;
 
-    public State(boolean makeCheckpoint) {
-        this.makeCheckpoint = makeCheckpoint;
+    public State() {
     }
 
-    public boolean isMakeCheckpoint() {
-        return makeCheckpoint;
-    }
-
-    public void resetLevel() {
-        level = -1;
-    }
-    public int decLevel() {
-        return --level;
-    }
-    public int incLevel() {
-        return ++level;
-    }
-    
     public void addLevel(StateLevel stateLevel) {
         if (levels == null) {
             levels = new ArrayList<StateLevel>(2);
         }
         levels.add(stateLevel);
     }
+    public StateLevel getLastLevel() {
+        if (levels == null || levels.isEmpty()) {
+            return null;
+        }
+        return levels.get(levels.size() - 1);
+    }
+    public StateLevel removeLastLevel() {
+        return levels.remove(levels.size() - 1);
+    }
     public List<StateLevel> getLevels() {
         if (levels == null) {
             return Collections.emptyList();
@@ -69,6 +61,13 @@ public class State {
         return batchIndex;
     }
 
+    public void setExecIndex(int execIndex) {
+        this.execIndex = execIndex;
+    }
+    public int getExecIndex() {
+        return execIndex;
+    }
+
     public <T extends DecoderState> T getDecoderState() {
         return (T) decoderState;
     }
@@ -76,19 +75,9 @@ public class State {
         this.decoderState = decoderState;
     }
 
-    public DecoderState getDecoderStateCopy() {
-        return decoderStateCopy;
-    }
-    public void setDecoderStateCopy(DecoderState decoderStateCopy) {
-        this.decoderStateCopy = decoderStateCopy;
-    }
-
     @Override
     public String toString() {
-        return "State [batchIndex=" + batchIndex + ", decoderState=" + decoderState + ", level=" + level + ", levels="
-                + levels + ", decoderStateCopy=" + decoderStateCopy + "]";
+        return "State [batchIndex=" + batchIndex + ", execIndex=" + execIndex + ", decoderState=" + decoderState + ", levels=" + levels + "]";
     }
 
-    
-    
 }
@@ -21,6 +21,8 @@ public class StateLevel {
 
     private long size;
     private List<Object> parts;
+    // error replies are counted but not added to parts
+    private long decodedElements;
 
     public StateLevel(long size, List<Object> parts) {
         super();
@@ -36,9 +38,17 @@ public class StateLevel {
         return parts;
     }
 
+    public void incDecodedElements() {
+        decodedElements++;
+    }
+
+    public boolean isDone() {
+        return decodedElements >= size;
+    }
+
     @Override
     public String toString() {
-        return "StateLevel [size=" + size + ", parts=" + parts + "]";
+        return "StateLevel [size=" + size + ", decodedElements=" + decodedElements + ", parts=" + parts + "]";
     }
     
 }
@@ -0,0 +1,53 @@
+/**
+ * Copyright 2014 Nikita Koksharov, Nickolay Borbit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.client.protocol;
+
+import java.io.IOException;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Allows to use byte array based {@link Encoder} as {@link ByteBufEncoder}.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class ByteBufEncoderAdapter implements ByteBufEncoder {
+
+    private final Encoder encoder;
+
+    public ByteBufEncoderAdapter(Encoder encoder) {
+        this.encoder = encoder;
+    }
+
+    public static ByteBufEncoder adapt(Encoder encoder) {
+        if (encoder instanceof ByteBufEncoder) {
+            return (ByteBufEncoder) encoder;
+        }
+        return new ByteBufEncoderAdapter(encoder);
+    }
+
+    @Override
+    public byte[] encode(Object in) throws IOException {
+        return encoder.encode(in);
+    }
+
+    @Override
+    public void encode(Object in, ByteBuf out) throws IOException {
+        out.writeBytes(encoder.encode(in));
+    }
+
+}
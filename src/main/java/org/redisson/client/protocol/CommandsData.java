@@ -24,11 +24,50 @@ public class CommandsData implements QueueCommand {
 
     private final List<CommandData<?, ?>> commands;
     private final Promise<Void> promise;
+    private final boolean skipResult;
+    private final boolean atomic;
 
     public CommandsData(Promise<Void> promise, List<CommandData<?, ?>> commands) {
+        this(promise, commands, false, false);
+    }
+
+    /**
+     * @param promise - batch promise
+     * @param commands - batch commands
+     * @param skipResult - replies are skipped without decoding, only errors are handled
+     * @param atomic - commands are wrapped by <code>MULTI</code> and <code>EXEC</code>
+     *                 which is the last command, <code>EXEC</code> reply is decoded into
+     *                 promises of queued commands
+     */
+    public CommandsData(Promise<Void> promise, List<CommandData<?, ?>> commands, boolean skipResult, boolean atomic) {
         super();
         this.promise = promise;
         this.commands = commands;
+        this.skipResult = skipResult;
+        this.atomic = atomic;
+    }
+
+    public boolean isSkipResult() {
+        return skipResult;
+    }
+
+    public boolean isAtomic() {
+        return atomic;
+    }
+
+    /**
+     * @return index of <code>MULTI</code> command or <code>-1</code> if batch isn't atomic
+     */
+    public int getMultiIndex() {
+        if (!atomic) {
+            return -1;
+        }
+        for (int i = 0; i < commands.size(); i++) {
+            if (RedisCommands.MULTI.getName().equals(commands.get(i).getCommand().getName())) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     public Promise<Void> getPromise() {
@@ -17,7 +17,19 @@ package org.redisson.client.protocol;
 
 import java.io.UnsupportedEncodingException;
 
-public class DefaultParamsEncoder implements Encoder {
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+public class DefaultParamsEncoder implements ByteBufEncoder {
+
+    @Override
+    public void encode(Object in, ByteBuf out) {
+        if (in instanceof byte[]) {
+            out.writeBytes((byte[]) in);
+            return;
+        }
+        ByteBufUtil.writeUtf8(out, in.toString());
+    }
 
     @Override
     public byte[] encode(Object in) {
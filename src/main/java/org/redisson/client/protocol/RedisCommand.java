@@ -15,6 +15,7 @@
  */
 package org.redisson.client.protocol;
 
+import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
 import java.util.List;
 
@@ -22,10 +23,32 @@ import org.redisson.client.protocol.convertor.Convertor;
 import org.redisson.client.protocol.convertor.EmptyConvertor;
 import org.redisson.client.protocol.decoder.MultiDecoder;
 
+import io.netty.util.CharsetUtil;
+
 public class RedisCommand<R> {
 
     public enum ValueType {OBJECT, OBJECTS, MAP_VALUE, MAP_KEY, MAP, BINARY, STRING}
 
+    public enum EncoderType {PARAMS, VALUE, MAP_KEY, MAP_VALUE, STRING}
+
+    /**
+     * Command name header and parameter encoders computed once per command.
+     * Immutable, so it's safely published via final fields.
+     */
+    private static class EncodingPlan {
+
+        final byte[] header;
+        final EncoderType[] encoders;
+        final boolean periodic;
+
+        EncodingPlan(byte[] header, EncoderType[] encoders, boolean periodic) {
+            this.header = header;
+            this.encoders = encoders;
+            this.periodic = periodic;
+        }
+
+    }
+
     private ValueType outParamType = ValueType.OBJECT;
     private List<ValueType> inParamType = Arrays.asList(ValueType.OBJECT);
     private final int inParamIndex;
@@ -37,6 +60,11 @@ public class RedisCommand<R> {
     private Decoder<R> replayDecoder;
     Convertor<R> convertor = new EmptyConvertor<R>();
 
+    private EncodingPlan encodingPlan;
+    // plan is created on the second encoding,
+    // so commands created per call are encoded without it
+    private volatile boolean encoded;
+
     /**
      * Copy command and change name
      *
@@ -238,6 +266,137 @@ public class RedisCommand<R> {
         return outParamType;
     }
 
+    /**
+     * RESP encoded command name and sub name.
+     * Shouldn't be modified.
+     *
+     * @return bytes
+     */
+    public byte[] getEncodedHeader() {
+        EncodingPlan plan = encodingPlan;
+        if (plan != null) {
+            return plan.header;
+        }
+        if (!encoded) {
+            encoded = true;
+            return createHeader();
+        }
+        plan = createEncodingPlan();
+        encodingPlan = plan;
+        return plan.header;
+    }
+
+    /**
+     * Amount of arguments in encoded header
+     *
+     * @return 1 or 2 if command has sub name
+     */
+    public int getHeaderArgsCount() {
+        if (subName != null) {
+            return 2;
+        }
+        return 1;
+    }
+
+    /**
+     * Encoder type of command parameter
+     *
+     * @param paramIndex - parameter index starting from 0
+     * @return encoder type or <code>null</code> if there is no such parameter in <code>inParamType</code>
+     */
+    public EncoderType getEncoderType(int paramIndex) {
+        EncodingPlan plan = encodingPlan;
+        if (plan == null) {
+            return resolveEncoderType(paramIndex + 1);
+        }
+        EncoderType[] encoders = plan.encoders;
+        if (paramIndex < encoders.length) {
+            return encoders[paramIndex];
+        }
+        if (!plan.periodic) {
+            return null;
+        }
+        // tail of parameters has period 2 (key, value pairs)
+        return encoders[encoders.length - 2 + ((paramIndex - encoders.length) % 2)];
+    }
+
+    private byte[] createHeader() {
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        writeHeaderArgument(header, name);
+        if (subName != null) {
+            writeHeaderArgument(header, subName);
+        }
+        return header.toByteArray();
+    }
+
+    private EncodingPlan createEncodingPlan() {
+
+        // covers all parameters listed in inParamType and two more,
+        // so the rest of single inParamType parameters repeats with period 2
+        int size = Math.max(inParamIndex, 0) + Math.max(inParamType.size(), 2) + 1;
+        EncoderType[] encoders = new EncoderType[size];
+        for (int i = 0; i < size; i++) {
+            encoders[i] = resolveEncoderType(i + 1);
+        }
+        return new EncodingPlan(createHeader(), encoders, inParamType.size() == 1);
+    }
+
+    private void writeHeaderArgument(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(CharsetUtil.UTF_8);
+        byte[] length = Integer.toString(bytes.length).getBytes(CharsetUtil.US_ASCII);
+        out.write('$');
+        out.write(length, 0, length.length);
+        out.write('\r');
+        out.write('\n');
+        out.write(bytes, 0, bytes.length);
+        out.write('\r');
+        out.write('\n');
+    }
+
+    private EncoderType resolveEncoderType(int paramIndex) {
+        if (inParamType.size() == 1) {
+            if (inParamIndex == paramIndex
+                    && inParamType.get(0) == ValueType.OBJECT) {
+                return EncoderType.VALUE;
+            } else if (inParamIndex <= paramIndex
+                    && inParamType.get(0) != ValueType.OBJECT) {
+                return resolveEncoderType(inParamType.get(0), paramIndex - inParamIndex);
+            }
+            return EncoderType.PARAMS;
+        }
+
+        if (inParamIndex <= paramIndex) {
+            int typeIndex = paramIndex - inParamIndex;
+            if (typeIndex >= inParamType.size()) {
+                return null;
+            }
+            return resolveEncoderType(inParamType.get(typeIndex), typeIndex);
+        }
+        return EncoderType.PARAMS;
+    }
+
+    private EncoderType resolveEncoderType(ValueType type, int param) {
+        if (type == ValueType.MAP) {
+            if (param % 2 != 0) {
+                return EncoderType.MAP_VALUE;
+            }
+            return EncoderType.MAP_KEY;
+        }
+        if (type == ValueType.MAP_KEY) {
+            return EncoderType.MAP_KEY;
+        }
+        if (type == ValueType.MAP_VALUE) {
+            return EncoderType.MAP_VALUE;
+        }
+        if (type == ValueType.OBJECTS || type == ValueType.OBJECT) {
+            return EncoderType.VALUE;
+        }
+        if (type == ValueType.STRING) {
+            return EncoderType.STRING;
+        }
+        return null;
+    }
+
     @Override
     public String toString() {
         return "(" + name + (subName != null ? " " + subName : "") + ")";
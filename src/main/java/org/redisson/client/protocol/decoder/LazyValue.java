@@ -0,0 +1,67 @@
+/**
+ * Copyright 2014 Nikita Koksharov, Nickolay Borbit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.client.protocol.decoder;
+
+import java.io.IOException;
+
+import org.redisson.client.RedisException;
+import org.redisson.client.protocol.Decoder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Value bytes which are decoded on first access.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class LazyValue {
+
+    private final Decoder<Object> decoder;
+    private byte[] bytes;
+
+    private volatile boolean decoded;
+    private Object value;
+
+    public LazyValue(ByteBuf buf, Decoder<Object> decoder) {
+        this.bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        this.decoder = decoder;
+    }
+
+    public Object getValue() {
+        if (!decoded) {
+            synchronized (this) {
+                if (!decoded) {
+                    value = decode();
+                    bytes = null;
+                    decoded = true;
+                }
+            }
+        }
+        return value;
+    }
+
+    private Object decode() {
+        try {
+            return decoder.decode(Unpooled.wrappedBuffer(bytes), null);
+        } catch (IOException e) {
+            throw new RedisException("Can't decode value", e);
+        }
+    }
+
+}
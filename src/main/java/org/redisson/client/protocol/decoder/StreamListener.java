@@ -0,0 +1,40 @@
+/**
+ * Copyright 2014 Nikita Koksharov, Nickolay Borbit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.client.protocol.decoder;
+
+import io.netty.channel.Channel;
+
+/**
+ * Receives elements of multi-bulk reply as soon as they have been decoded.
+ * Invoked from I/O thread.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <T> element type
+ */
+public interface StreamListener<T> {
+
+    /**
+     * Invoked for each element of reply in order of arrival.
+     * Channel reading could be suspended via <code>channel.config().setAutoRead(false)</code>
+     * till consumer catches up.
+     *
+     * @param channel - connection channel
+     * @param element - decoded element
+     */
+    void onElement(Channel channel, T element);
+
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright 2014 Nikita Koksharov, Nickolay Borbit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.client.protocol.decoder;
+
+import java.util.AbstractMap;
+import java.util.List;
+
+import org.redisson.client.handler.State;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+
+/**
+ * Passes elements of top level multi-bulk reply to {@link StreamListener}
+ * instead of collecting them. Reply itself is decoded as <code>null</code>.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class StreamMultiDecoder implements MultiDecoder<Object> {
+
+    private final StreamListener<Object> listener;
+    private final boolean entries;
+
+    public StreamMultiDecoder(StreamListener<Object> listener) {
+        this(listener, false);
+    }
+
+    /**
+     * @param listener - elements listener
+     * @param entries - pass each pair of elements as <code>Map.Entry</code>
+     */
+    public StreamMultiDecoder(StreamListener<Object> listener, boolean entries) {
+        this.listener = listener;
+        this.entries = entries;
+    }
+
+    /**
+     * Invoked by decoder each time top level element has been decoded.
+     * Passed parts are cleared.
+     *
+     * @param parts - decoded parts
+     * @param channel - connection channel
+     */
+    public void onElement(List<Object> parts, Channel channel) {
+        if (entries) {
+            if (parts.size() < 2) {
+                return;
+            }
+            listener.onElement(channel, new AbstractMap.SimpleEntry<Object, Object>(parts.get(0), parts.get(1)));
+        } else {
+            if (parts.isEmpty()) {
+                return;
+            }
+            listener.onElement(channel, parts.get(0));
+        }
+        parts.clear();
+    }
+
+    @Override
+    public Object decode(ByteBuf buf, State state) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isApplicable(int paramNum, State state) {
+        return false;
+    }
+
+    @Override
+    public Object decode(List<Object> parts, State state) {
+        return null;
+    }
+
+}
@@ -331,9 +331,15 @@ public class ClusterConnectionManager extends MasterSlaveConnectionManager {
                 log.debug("cluster nodes state from {}:\n{}", connection.getRedisClient().getAddr(), nodesValue);
 
                 Collection<ClusterPartition> newPartitions = parsePartitions(nodesValue);
-                checkMasterNodesChange(newPartitions);
-                checkSlaveNodesChange(newPartitions);
-                checkSlotsChange(cfg, newPartitions);
+                // slot changes of the whole scan are published at once
+                deferRoutingTable();
+                try {
+                    checkMasterNodesChange(newPartitions);
+                    checkSlaveNodesChange(newPartitions);
+                    checkSlotsChange(cfg, newPartitions);
+                } finally {
+                    publishRoutingTable();
+                }
                 scheduleClusterChangeCheck(cfg, null);
             }
         });
@@ -23,11 +23,13 @@ import org.nustaq.serialization.FSTObjectInput;
 import org.nustaq.serialization.FSTObjectOutput;
 import org.redisson.client.codec.Codec;
 import org.redisson.client.handler.State;
+import org.redisson.client.protocol.ByteBufEncoder;
 import org.redisson.client.protocol.Decoder;
 import org.redisson.client.protocol.Encoder;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 
 /**
  * Efficient and speedy serialization codec fully
@@ -65,7 +67,7 @@ public class FstCodec implements Codec {
         }
     };
 
-    private final Encoder encoder = new Encoder() {
+    private final Encoder encoder = new ByteBufEncoder() {
 
         @Override
         public byte[] encode(Object in) throws IOException {
@@ -75,6 +77,13 @@ public class FstCodec implements Codec {
             oos.flush();
             return os.toByteArray();
         }
+
+        @Override
+        public void encode(Object in, ByteBuf out) throws IOException {
+            FSTObjectOutput oos = config.getObjectOutput(new ByteBufOutputStream(out));
+            oos.writeObject(in);
+            oos.flush();
+        }
     };
 
     @Override
@@ -17,6 +17,7 @@ package org.redisson.codec;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
@@ -24,6 +25,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.redisson.client.codec.Codec;
 import org.redisson.client.handler.State;
+import org.redisson.client.protocol.ByteBufEncoder;
 import org.redisson.client.protocol.Decoder;
 import org.redisson.client.protocol.Encoder;
 
@@ -33,6 +35,7 @@ import com.esotericsoftware.kryo.io.Output;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 
 public class KryoCodec implements Codec {
 
@@ -113,18 +116,27 @@ public class KryoCodec implements Codec {
         }
     };
 
-    private final Encoder encoder = new Encoder() {
+    private final Encoder encoder = new ByteBufEncoder() {
 
         @Override
         public byte[] encode(Object in) throws IOException {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            write(in, baos);
+            return baos.toByteArray();
+        }
+
+        @Override
+        public void encode(Object in, ByteBuf out) throws IOException {
+            write(in, new ByteBufOutputStream(out));
+        }
+
+        private void write(Object in, OutputStream os) {
             Kryo kryo = null;
             try {
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                Output output = new Output(baos);
+                Output output = new Output(os);
                 kryo = kryoPool.get();
                 kryo.writeClassAndObject(output, in);
                 output.close();
-                return baos.toByteArray();
             } catch (Exception e) {
                 if (e instanceof RuntimeException) {
                     throw (RuntimeException) e;
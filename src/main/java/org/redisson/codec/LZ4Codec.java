@@ -16,13 +16,17 @@
 package org.redisson.codec;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import org.redisson.client.codec.Codec;
 import org.redisson.client.handler.State;
+import org.redisson.client.protocol.ByteBufEncoder;
+import org.redisson.client.protocol.ByteBufEncoderAdapter;
 import org.redisson.client.protocol.Decoder;
 import org.redisson.client.protocol.Encoder;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import net.jpountz.lz4.LZ4Compressor;
 import net.jpountz.lz4.LZ4Factory;
@@ -67,7 +71,7 @@ public class LZ4Codec implements Codec {
         }
     };
 
-    private final Encoder encoder = new Encoder() {
+    private final Encoder encoder = new ByteBufEncoder() {
 
         @Override
         public byte[] encode(Object in) throws IOException {
@@ -75,6 +79,29 @@ public class LZ4Codec implements Codec {
             byte[] bytes = innerCodec.getValueEncoder().encode(in);
             return compressor.compress(bytes);
         }
+
+        @Override
+        public void encode(Object in, ByteBuf out) throws IOException {
+            if (!out.isDirect() || out.nioBufferCount() != 1) {
+                out.writeBytes(encode(in));
+                return;
+            }
+
+            ByteBuf bytes = ByteBufAllocator.DEFAULT.buffer();
+            try {
+                ByteBufEncoderAdapter.adapt(innerCodec.getValueEncoder()).encode(in, bytes);
+
+                LZ4Compressor compressor = factory.fastCompressor();
+                int maxLength = compressor.maxCompressedLength(bytes.readableBytes());
+                out.ensureWritable(maxLength);
+                ByteBuffer src = bytes.nioBuffer();
+                ByteBuffer dest = out.nioBuffer(out.writerIndex(), maxLength);
+                int length = compressor.compress(src, src.position(), src.remaining(), dest, dest.position(), maxLength);
+                out.writerIndex(out.writerIndex() + length);
+            } finally {
+                bytes.release();
+            }
+        }
     };
 
     @Override
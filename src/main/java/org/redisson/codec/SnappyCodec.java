@@ -16,14 +16,18 @@
 package org.redisson.codec;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import org.redisson.client.codec.Codec;
 import org.redisson.client.handler.State;
+import org.redisson.client.protocol.ByteBufEncoder;
+import org.redisson.client.protocol.ByteBufEncoderAdapter;
 import org.redisson.client.protocol.Decoder;
 import org.redisson.client.protocol.Encoder;
 import org.xerial.snappy.Snappy;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 
 /**
@@ -61,12 +65,34 @@ public class SnappyCodec implements Codec {
         }
     };
 
-    private final Encoder encoder = new Encoder() {
+    private final Encoder encoder = new ByteBufEncoder() {
 
         @Override
         public byte[] encode(Object in) throws IOException {
             return Snappy.compress(innerCodec.getValueEncoder().encode(in));
         }
+
+        @Override
+        public void encode(Object in, ByteBuf out) throws IOException {
+            if (!out.isDirect() || out.nioBufferCount() != 1) {
+                out.writeBytes(encode(in));
+                return;
+            }
+
+            // Snappy compresses only direct buffers
+            ByteBuf bytes = ByteBufAllocator.DEFAULT.directBuffer();
+            try {
+                ByteBufEncoderAdapter.adapt(innerCodec.getValueEncoder()).encode(in, bytes);
+
+                int maxLength = Snappy.maxCompressedLength(bytes.readableBytes());
+                out.ensureWritable(maxLength);
+                ByteBuffer dest = out.nioBuffer(out.writerIndex(), maxLength);
+                int length = Snappy.compress(bytes.nioBuffer(), dest);
+                out.writerIndex(out.writerIndex() + length);
+            } finally {
+                bytes.release();
+            }
+        }
     };
 
     @Override
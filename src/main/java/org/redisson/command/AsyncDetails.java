@@ -16,6 +16,7 @@
 package org.redisson.command;
 
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import org.redisson.client.RedisConnection;
 import org.redisson.client.RedisException;
@@ -52,6 +53,25 @@ public class AsyncDetails<V, R> {
 
     private volatile Timeout timeout;
 
+    private volatile long timeoutDeadline;
+
+    private volatile long responseDeadline;
+
+    private volatile int responseTimeout;
+
+    private volatile long suspendedTime;
+
+    private static final int NOT_SENT = 0;
+    private static final int SENT = 1;
+    private static final int COMPLETED = 2;
+
+    private static final AtomicIntegerFieldUpdater<AsyncDetails> sendStateUpdater =
+            AtomicIntegerFieldUpdater.newUpdater(AsyncDetails.class, "sendState");
+
+    private volatile int sendState = NOT_SENT;
+
+    private long sentTime;
+
     public AsyncDetails() {
     }
 
@@ -85,6 +105,12 @@ public class AsyncDetails<V, R> {
         this.writeFuture = writeFuture;
         this.exception = exception;
         this.timeout = timeout;
+        this.timeoutDeadline = 0;
+        this.responseDeadline = 0;
+        this.responseTimeout = 0;
+        this.suspendedTime = 0;
+        this.sentTime = 0;
+        this.sendState = NOT_SENT;
     }
 
     public ChannelFuture getWriteFuture() {
@@ -107,6 +133,66 @@ public class AsyncDetails<V, R> {
     public void setTimeout(Timeout timeout) {
         this.timeout = timeout;
     }
+    public void setTimeout(Timeout timeout, long timeoutDeadline) {
+        this.timeoutDeadline = timeoutDeadline;
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return <code>System.nanoTime()</code> based time when current timeout fires
+     */
+    public long getTimeoutDeadline() {
+        return timeoutDeadline;
+    }
+
+    /**
+     * @return <code>System.nanoTime()</code> based response deadline
+     *         or <code>0</code> if command hasn't been written yet
+     */
+    public long getResponseDeadline() {
+        return responseDeadline;
+    }
+    public void setResponseDeadline(long responseDeadline) {
+        this.responseDeadline = responseDeadline;
+    }
+
+    /**
+     * @return total time in nanoseconds while streamed reply reading has been suspended
+     */
+    public long getSuspendedTime() {
+        return suspendedTime;
+    }
+    public void setSuspendedTime(long suspendedTime) {
+        this.suspendedTime = suspendedTime;
+    }
+
+    /**
+     * @param sentTime - <code>System.nanoTime()</code> based time when command has been sent
+     * @return <code>false</code> if attempt has been already completed
+     */
+    public boolean markSent(long sentTime) {
+        this.sentTime = sentTime;
+        return sendStateUpdater.compareAndSet(this, NOT_SENT, SENT);
+    }
+
+    /**
+     * @return <code>true</code> if command has been marked as sent
+     *         and it's the first completion of attempt
+     */
+    public boolean markCompleted() {
+        return sendStateUpdater.getAndSet(this, COMPLETED) == SENT;
+    }
+
+    public long getSentTime() {
+        return sentTime;
+    }
+
+    public int getResponseTimeout() {
+        return responseTimeout;
+    }
+    public void setResponseTimeout(int responseTimeout) {
+        this.responseTimeout = responseTimeout;
+    }
 
     public Future<RedisConnection> getConnectionFuture() {
         return connectionFuture;
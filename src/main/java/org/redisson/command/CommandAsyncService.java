@@ -21,13 +21,12 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.redisson.ReadMode;
 import org.redisson.RedisClientResult;
 import org.redisson.RedissonShutdownException;
 import org.redisson.SlotCallback;
@@ -36,6 +35,7 @@ import org.redisson.client.RedisConnection;
 import org.redisson.client.RedisException;
 import org.redisson.client.RedisLoadingException;
 import org.redisson.client.RedisMovedException;
+import org.redisson.client.RedisNoScriptException;
 import org.redisson.client.RedisTimeoutException;
 import org.redisson.client.WriteRedisConnectionException;
 import org.redisson.client.codec.Codec;
@@ -44,10 +44,11 @@ import org.redisson.client.protocol.CommandsData;
 import org.redisson.client.protocol.QueueCommand;
 import org.redisson.client.protocol.RedisCommand;
 import org.redisson.client.protocol.RedisCommands;
-import org.redisson.cluster.ClusterSlotRange;
+import org.redisson.client.protocol.decoder.StreamMultiDecoder;
 import org.redisson.connection.ConnectionManager;
 import org.redisson.connection.NodeSource;
 import org.redisson.connection.NodeSource.Redirect;
+import org.redisson.connection.balancer.LatencyAwareLoadBalancer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,8 +74,29 @@ public class CommandAsyncService implements CommandAsyncExecutor {
 
     final ConnectionManager connectionManager;
 
+    private final CommandAutoBatcher autoBatcher;
+
+    private final HedgedReadPolicy hedgedReadPolicy;
+
+    // server latency stats are used only by latency aware balancing and hedged reads
+    private final boolean collectStats;
+
     public CommandAsyncService(ConnectionManager connectionManager) {
         this.connectionManager = connectionManager;
+        if (connectionManager.getConfig().getAutoBatchWindow() > 0) {
+            autoBatcher = new CommandAutoBatcher(connectionManager);
+        } else {
+            autoBatcher = null;
+        }
+        if (connectionManager.getConfig().getHedgedReadPercentile() > 0
+                && connectionManager.getConfig().getReadMode() != ReadMode.MASTER) {
+            hedgedReadPolicy = new HedgedReadPolicy(connectionManager.getConfig().getHedgedReadPercentile(),
+                                                        connectionManager.getConfig().getHedgedReadMinDelay());
+        } else {
+            hedgedReadPolicy = null;
+        }
+        collectStats = connectionManager.getConfig().getLoadBalancer() instanceof LatencyAwareLoadBalancer
+                            || hedgedReadPolicy != null;
     }
 
     @Override
@@ -84,18 +106,7 @@ public class CommandAsyncService implements CommandAsyncExecutor {
 
     @Override
     public <V> V get(Future<V> future) {
-        final CountDownLatch l = new CountDownLatch(1);
-        future.addListener(new FutureListener<V>() {
-            @Override
-            public void operationComplete(Future<V> future) throws Exception {
-                l.countDown();
-            }
-        });
-        try {
-            l.await();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        SyncWaiter.await(future);
         // commented out due to blocking issues up to 200 ms per minute for each thread
         // future.awaitUninterruptibly();
         if (future.isSuccess()) {
@@ -106,14 +117,7 @@ public class CommandAsyncService implements CommandAsyncExecutor {
 
     @Override
     public boolean await(Future<?> future, long timeout, TimeUnit timeoutUnit) throws InterruptedException {
-        final CountDownLatch l = new CountDownLatch(1);
-        future.addListener(new FutureListener<Object>() {
-            @Override
-            public void operationComplete(Future<Object> future) throws Exception {
-                l.countDown();
-            }
-        });
-        return l.await(timeout, timeoutUnit);
+        return SyncWaiter.await(future, timeout, timeoutUnit);
     }
     
     @Override
@@ -127,9 +131,10 @@ public class CommandAsyncService implements CommandAsyncExecutor {
     @Override
     public <T, R> Future<Collection<R>> readAllAsync(RedisCommand<T> command, Object ... params) {
         final Promise<Collection<R>> mainPromise = connectionManager.newPromise();
+        final Collection<Integer> slots = connectionManager.getNodeSlots();
         Promise<R> promise = new DefaultPromise<R>() {
             List<R> results = new ArrayList<R>();
-            AtomicInteger counter = new AtomicInteger(connectionManager.getEntries().keySet().size());
+            AtomicInteger counter = new AtomicInteger(slots.size());
             @Override
             public Promise<R> setSuccess(R result) {
                 if (result instanceof Collection) {
@@ -157,8 +162,8 @@ public class CommandAsyncService implements CommandAsyncExecutor {
 
         };
 
-        for (ClusterSlotRange slot : connectionManager.getEntries().keySet()) {
-            async(true, new NodeSource(slot.getStartSlot()), connectionManager.getCodec(), command, params, promise, 0);
+        for (Integer slot : slots) {
+            async(true, new NodeSource(slot), connectionManager.getCodec(), command, params, promise, 0);
         }
         return mainPromise;
     }
@@ -166,7 +171,7 @@ public class CommandAsyncService implements CommandAsyncExecutor {
     @Override
     public <T, R> Future<R> readRandomAsync(RedisCommand<T> command, Object ... params) {
         final Promise<R> mainPromise = connectionManager.newPromise();
-        final List<ClusterSlotRange> slots = new ArrayList<ClusterSlotRange>(connectionManager.getEntries().keySet());
+        final List<Integer> slots = new ArrayList<Integer>(connectionManager.getNodeSlots());
         Collections.shuffle(slots);
 
         retryReadRandomAsync(command, mainPromise, slots, params);
@@ -174,7 +179,7 @@ public class CommandAsyncService implements CommandAsyncExecutor {
     }
 
     private <R, T> void retryReadRandomAsync(final RedisCommand<T> command, final Promise<R> mainPromise,
-            final List<ClusterSlotRange> slots, final Object... params) {
+            final List<Integer> slots, final Object... params) {
         final Promise<R> attemptPromise = connectionManager.newPromise();
         attemptPromise.addListener(new FutureListener<R>() {
             @Override
@@ -195,8 +200,8 @@ public class CommandAsyncService implements CommandAsyncExecutor {
             }
         });
 
-        ClusterSlotRange slot = slots.remove(0);
-        async(true, new NodeSource(slot.getStartSlot()), connectionManager.getCodec(), command, params, attemptPromise, 0);
+        Integer slot = slots.remove(0);
+        async(true, new NodeSource(slot), connectionManager.getCodec(), command, params, attemptPromise, 0);
     }
 
     @Override
@@ -216,7 +221,7 @@ public class CommandAsyncService implements CommandAsyncExecutor {
 
     private <T, R> Future<R> allAsync(boolean readOnlyMode, RedisCommand<T> command, final SlotCallback<T, R> callback, Object ... params) {
         final Promise<R> mainPromise = connectionManager.newPromise();
-        final Set<ClusterSlotRange> slots = connectionManager.getEntries().keySet();
+        final Collection<Integer> slots = connectionManager.getNodeSlots();
         Promise<T> promise = new DefaultPromise<T>() {
             AtomicInteger counter = new AtomicInteger(slots.size());
             @Override
@@ -240,8 +245,8 @@ public class CommandAsyncService implements CommandAsyncExecutor {
                 return this;
             }
         };
-        for (ClusterSlotRange slot : slots) {
-            async(readOnlyMode, new NodeSource(slot.getStartSlot()), connectionManager.getCodec(), command, params, promise, 0);
+        for (Integer slot : slots) {
+            async(readOnlyMode, new NodeSource(slot), connectionManager.getCodec(), command, params, promise, 0);
         }
         return mainPromise;
     }
@@ -255,7 +260,7 @@ public class CommandAsyncService implements CommandAsyncExecutor {
     private NodeSource getNodeSource(String key) {
         int slot = connectionManager.calcSlot(key);
         if (slot != 0) {
-            return new NodeSource(slot);
+            return NodeSource.valueOf(slot);
         }
         return NodeSource.ZERO;
     }
@@ -264,16 +269,106 @@ public class CommandAsyncService implements CommandAsyncExecutor {
     public <T, R> Future<R> readAsync(String key, Codec codec, RedisCommand<T> command, Object ... params) {
         Promise<R> mainPromise = connectionManager.newPromise();
         NodeSource source = getNodeSource(key);
-        async(true, source, codec, command, params, mainPromise, 0);
+        readAsync(source, codec, command, params, mainPromise);
         return mainPromise;
     }
 
     public <T, R> Future<R> readAsync(Integer slot, Codec codec, RedisCommand<T> command, Object ... params) {
         Promise<R> mainPromise = connectionManager.newPromise();
-        async(true, new NodeSource(slot), codec, command, params, mainPromise, 0);
+        readAsync(new NodeSource(slot), codec, command, params, mainPromise);
         return mainPromise;
     }
 
+    protected boolean useHedgedReads() {
+        return hedgedReadPolicy != null;
+    }
+
+    private <V, R> void readAsync(final NodeSource source, final Codec codec, final RedisCommand<V> command,
+            final Object[] params, final Promise<R> mainPromise) {
+        if (!useHedgedReads()
+                || QueueCommand.TIMEOUTLESS_COMMANDS.contains(command.getName())
+                // elements of streamed replies would be duplicated
+                || isStreamingCommand(command)) {
+            async(true, source, codec, command, params, mainPromise, 0);
+            return;
+        }
+
+        final long startTime = System.nanoTime();
+        final Promise<R> primaryPromise = connectionManager.newPromise();
+        final AtomicReference<Promise<R>> hedgedPromiseRef = new AtomicReference<Promise<R>>();
+
+        final FutureListener<R> listener = new FutureListener<R>() {
+            @Override
+            public void operationComplete(Future<R> future) throws Exception {
+                if (future.isCancelled()) {
+                    return;
+                }
+
+                if (future.isSuccess()) {
+                    if (future == primaryPromise) {
+                        // delay is estimated by latency of primary reads only
+                        hedgedReadPolicy.addSample(System.nanoTime() - startTime);
+                    }
+                    mainPromise.trySuccess(future.getNow());
+                    return;
+                }
+
+                // the other read may still succeed
+                Future<R> other = primaryPromise;
+                if (future == primaryPromise) {
+                    other = hedgedPromiseRef.get();
+                }
+                if (other == null || other.isDone()) {
+                    mainPromise.tryFailure(future.cause());
+                }
+            }
+        };
+
+        long delay = hedgedReadPolicy.getDelay();
+        final Timeout timeout;
+        if (delay != HedgedReadPolicy.NO_HEDGE) {
+            timeout = connectionManager.newTimeout(new TimerTask() {
+                @Override
+                public void run(Timeout timeout) throws Exception {
+                    if (primaryPromise.isDone() || mainPromise.isDone()) {
+                        return;
+                    }
+
+                    Promise<R> hedgedPromise = connectionManager.newPromise();
+                    hedgedPromiseRef.set(hedgedPromise);
+                    hedgedPromise.addListener(listener);
+                    async(true, source, codec, command, params, hedgedPromise, 0);
+                    if (mainPromise.isDone()) {
+                        hedgedPromise.cancel(false);
+                    }
+                }
+            }, delay, TimeUnit.NANOSECONDS);
+        } else {
+            timeout = null;
+        }
+
+        // hedged read is cancelled once it has lost.
+        // Primary read is left to complete so its latency is sampled
+        mainPromise.addListener(new FutureListener<R>() {
+            @Override
+            public void operationComplete(Future<R> future) throws Exception {
+                if (timeout != null) {
+                    timeout.cancel();
+                }
+                if (future.isCancelled()) {
+                    primaryPromise.cancel(false);
+                }
+                Promise<R> hedgedPromise = hedgedPromiseRef.get();
+                if (hedgedPromise != null) {
+                    hedgedPromise.cancel(false);
+                }
+            }
+        });
+
+        primaryPromise.addListener(listener);
+        async(true, source, codec, command, params, primaryPromise, 0);
+    }
+
     @Override
     public <T, R> Future<R> writeAsync(Integer slot, Codec codec, RedisCommand<T> command, Object ... params) {
         Promise<R> mainPromise = connectionManager.newPromise();
@@ -321,8 +416,9 @@ public class CommandAsyncService implements CommandAsyncExecutor {
 
     public <T, R> Future<R> evalAllAsync(boolean readOnlyMode, RedisCommand<T> command, final SlotCallback<T, R> callback, String script, List<Object> keys, Object ... params) {
         final Promise<R> mainPromise = connectionManager.newPromise();
+        final Collection<Integer> slots = connectionManager.getNodeSlots();
         Promise<T> promise = new DefaultPromise<T>() {
-            AtomicInteger counter = new AtomicInteger(connectionManager.getEntries().keySet().size());
+            AtomicInteger counter = new AtomicInteger(slots.size());
             @Override
             public Promise<T> setSuccess(T result) {
                 callback.onSlotResult(result);
@@ -345,8 +441,8 @@ public class CommandAsyncService implements CommandAsyncExecutor {
         args.add(keys.size());
         args.addAll(keys);
         args.addAll(Arrays.asList(params));
-        for (ClusterSlotRange slot : connectionManager.getEntries().keySet()) {
-            async(readOnlyMode, new NodeSource(slot.getStartSlot()), connectionManager.getCodec(), command, args.toArray(), promise, 0);
+        for (Integer slot : slots) {
+            async(readOnlyMode, new NodeSource(slot), connectionManager.getCodec(), command, args.toArray(), promise, 0);
         }
         return mainPromise;
     }
@@ -358,10 +454,58 @@ public class CommandAsyncService implements CommandAsyncExecutor {
         args.add(keys.size());
         args.addAll(keys);
         args.addAll(Arrays.asList(params));
-        async(readOnlyMode, nodeSource, codec, evalCommandType, args.toArray(), mainPromise, 0);
+        if (useScriptCache()) {
+            evalShaAsync(nodeSource, readOnlyMode, codec, evalCommandType, script, args.toArray(), mainPromise);
+        } else {
+            async(readOnlyMode, nodeSource, codec, evalCommandType, args.toArray(), mainPromise, 0);
+        }
         return mainPromise;
     }
 
+    protected boolean useScriptCache() {
+        return connectionManager.getConfig().isUseScriptCache();
+    }
+
+    /**
+     * Executes script by SHA1 digest. Whole script is sent with <code>EVAL</code>
+     * only if Redis replies with <code>NOSCRIPT</code> error.
+     */
+    private <T, R> void evalShaAsync(final NodeSource nodeSource, final boolean readOnlyMode, final Codec codec,
+            final RedisCommand<T> evalCommandType, final String script, final Object[] args, final Promise<R> mainPromise) {
+        final Object[] shaArgs = Arrays.copyOf(args, args.length);
+        shaArgs[0] = connectionManager.getScriptCache().getSha(script);
+        // eval commands are often created per call with own decoder, so the copy isn't cached
+        RedisCommand<T> command = new RedisCommand<T>(evalCommandType, "EVALSHA");
+
+        final Promise<R> shaPromise = connectionManager.newPromise();
+        mainPromise.addListener(new FutureListener<R>() {
+            @Override
+            public void operationComplete(Future<R> future) throws Exception {
+                if (future.isCancelled()) {
+                    shaPromise.cancel(false);
+                }
+            }
+        });
+        shaPromise.addListener(new FutureListener<R>() {
+            @Override
+            public void operationComplete(Future<R> future) throws Exception {
+                if (future.isCancelled()) {
+                    return;
+                }
+                if (future.isSuccess()) {
+                    mainPromise.trySuccess(future.getNow());
+                    return;
+                }
+                if (future.cause() instanceof RedisNoScriptException) {
+                    async(readOnlyMode, nodeSource, codec, evalCommandType, args, mainPromise, 0);
+                    return;
+                }
+                mainPromise.tryFailure(future.cause());
+            }
+        });
+        async(readOnlyMode, nodeSource, codec, command, shaArgs, shaPromise, 0);
+    }
+
     @Override
     public <T, R> Future<R> writeAsync(String key, RedisCommand<T> command, Object ... params) {
         return writeAsync(key, connectionManager.getCodec(), command, params);
@@ -381,6 +525,11 @@ public class CommandAsyncService implements CommandAsyncExecutor {
             return;
         }
 
+        if (attempt == 0 && autoBatcher != null
+                && autoBatcher.add(readOnlyMode, source, codec, command, params, mainPromise)) {
+            return;
+        }
+
         if (!connectionManager.getShutdownLatch().acquire()) {
             mainPromise.setFailure(new RedissonShutdownException("Redisson is shutdown"));
             return;
@@ -407,6 +556,12 @@ public class CommandAsyncService implements CommandAsyncExecutor {
                     return;
                 }
 
+                // command has been written, the same task tracks response timeout
+                if (details.getResponseDeadline() != 0) {
+                    checkResponseTimeout(details, t);
+                    return;
+                }
+
                 if (details.getConnectionFuture().cancel(false)) {
                     connectionManager.getShutdownLatch().release();
                 } else {
@@ -446,8 +601,7 @@ public class CommandAsyncService implements CommandAsyncExecutor {
             }
         };
 
-        Timeout timeout = connectionManager.newTimeout(retryTimerTask, connectionManager.getConfig().getRetryInterval(), TimeUnit.MILLISECONDS);
-        details.setTimeout(timeout);
+        scheduleTimeout(details, retryTimerTask, TimeUnit.MILLISECONDS.toNanos(connectionManager.getConfig().getRetryInterval()));
 
         if (connectionFuture.isDone()) {
             checkConnectionFuture(source, details);
@@ -485,30 +639,87 @@ public class CommandAsyncService implements CommandAsyncExecutor {
             return;
         }
 
-        details.getTimeout().cancel();
-
         int timeoutTime = connectionManager.getConfig().getTimeout();
         if (QueueCommand.TIMEOUTLESS_COMMANDS.contains(details.getCommand().getName())) {
             Integer popTimeout = Integer.valueOf(details.getParams()[details.getParams().length - 1].toString());
             handleBlockingOperations(details, connection, popTimeout);
             if (popTimeout == 0) {
+                details.getTimeout().cancel();
                 return;
             }
             timeoutTime += popTimeout*1000;
+        } else {
+            if (isStreamingCommand(details.getCommand())) {
+                handleStreamingOperations(details, connection);
+            }
+            commandSent(details, connection);
         }
 
-        final int timeoutAmount = timeoutTime;
-        TimerTask timeoutTask = new TimerTask() {
-            @Override
-            public void run(Timeout timeout) throws Exception {
-                details.getAttemptPromise().tryFailure(
-                        new RedisTimeoutException("Redis server response timeout (" + timeoutAmount + " ms) occured for command: " + details.getCommand()
-                                + " with params: " + Arrays.toString(details.getParams()) + " channel: " + connection.getChannel()));
+        // retry timeout is reused to track response timeout.
+        // It's re-armed only if it has been already expired or fires later than response deadline
+        long now = System.nanoTime();
+        long deadline = now + TimeUnit.MILLISECONDS.toNanos(timeoutTime);
+        details.setResponseTimeout(timeoutTime);
+        details.setResponseDeadline(deadline);
+
+        Timeout timeout = details.getTimeout();
+        if (timeout.isExpired() || details.getTimeoutDeadline() > deadline) {
+            timeout.cancel();
+            scheduleTimeout(details, timeout.task(), deadline - now);
+        }
+    }
+
+    private <V, R> void checkResponseTimeout(AsyncDetails<V, R> details, Timeout timeout) {
+        long delay = details.getResponseDeadline() - System.nanoTime();
+        if (delay > 0) {
+            scheduleTimeout(details, timeout.task(), delay);
+            return;
+        }
+
+        // streamed reply reading is suspended until consumer catches up,
+        // so response timeout is counted only while the channel is read
+        RedisConnection connection = details.getConnectionFuture().getNow();
+        if (isStreamingCommand(details.getCommand())
+                && !connection.getChannel().config().isAutoRead()) {
+            long suspendTimeout = TimeUnit.MILLISECONDS.toNanos(connectionManager.getConfig().getStreamSuspendTimeout());
+            if (details.getSuspendedTime() < suspendTimeout) {
+                delay = Math.min(TimeUnit.MILLISECONDS.toNanos(details.getResponseTimeout()), suspendTimeout - details.getSuspendedTime());
+                details.setSuspendedTime(details.getSuspendedTime() + delay);
+                details.setResponseDeadline(System.nanoTime() + delay);
+                scheduleTimeout(details, timeout.task(), delay);
+                return;
             }
-        };
 
-        Timeout timeout = connectionManager.newTimeout(timeoutTask, timeoutTime, TimeUnit.MILLISECONDS);
-        details.setTimeout(timeout);
+            // unread part of reply can't be skipped
+            connection.forceReconnectAsync();
+            details.getAttemptPromise().tryFailure(
+                    new RedisTimeoutException("Streamed reply reading has been suspended for more than " + connectionManager.getConfig().getStreamSuspendTimeout()
+                            + " ms for command: " + details.getCommand() + " with params: " + Arrays.toString(details.getParams()) + " channel: " + connection.getChannel()));
+            return;
+        }
+
+        details.getAttemptPromise().tryFailure(
+                new RedisTimeoutException("Redis server response timeout (" + details.getResponseTimeout() + " ms) occured for command: " + details.getCommand()
+                        + " with params: " + Arrays.toString(details.getParams()) + " channel: " + details.getConnectionFuture().getNow().getChannel()));
+    }
+
+    private <V, R> void scheduleTimeout(AsyncDetails<V, R> details, TimerTask task, long delay) {
+        Timeout timeout = connectionManager.newTimeout(task, delay, TimeUnit.NANOSECONDS);
+        details.setTimeout(timeout, System.nanoTime() + delay);
+    }
+
+    private <R, V> void handleStreamingOperations(final AsyncDetails<V, R> details, final RedisConnection connection) {
+        details.getMainPromise().addListener(new FutureListener<R>() {
+            @Override
+            public void operationComplete(Future<R> future) throws Exception {
+                // abandoned stream iterator. Channel reading could be suspended
+                // and unread part of reply can't be skipped, so connection is reconnected before release
+                if (future.isCancelled() && !details.getAttemptPromise().isDone()) {
+                    connection.forceReconnectAsync();
+                    details.getAttemptPromise().cancel(false);
+                }
+            }
+        });
     }
 
     private <R, V> void handleBlockingOperations(final AsyncDetails<V, R> details, final RedisConnection connection, Integer popTimeout) {
@@ -618,7 +829,23 @@ public class CommandAsyncService implements CommandAsyncExecutor {
             });
         }
 
-        releaseConnection(source, details.getConnectionFuture(), details.isReadOnlyMode(), details.getAttemptPromise(), details);
+        if (connectionManager.getConfig().isPipelining()
+                && !QueueCommand.TIMEOUTLESS_COMMANDS.contains(details.getCommand().getName())
+                && !isStreamingCommand(details.getCommand())) {
+            // pipelined connection could be shared with other commands right after write
+            releaseConnection(details.isReadOnlyMode(), source, details.getConnectionFuture(), details);
+        } else {
+            releaseConnection(source, details.getConnectionFuture(), details.isReadOnlyMode(), details.getAttemptPromise(), details);
+        }
+    }
+
+    /**
+     * Streamed reply may suspend channel reading,
+     * so its connection can't be shared until the reply has been read.
+     *
+     */
+    private boolean isStreamingCommand(RedisCommand<?> command) {
+        return command.getReplayMultiDecoder() instanceof StreamMultiDecoder;
     }
 
     protected <V, R> void releaseConnection(final NodeSource source, final Future<RedisConnection> connectionFuture,
@@ -654,9 +881,29 @@ public class CommandAsyncService implements CommandAsyncExecutor {
         }
     }
 
+    private <V, R> void commandSent(AsyncDetails<V, R> details, RedisConnection connection) {
+        if (!collectStats) {
+            return;
+        }
+        if (details.markSent(System.nanoTime())) {
+            connection.getRedisClient().getStats().commandSent();
+        }
+    }
+
+    private <V, R> void commandCompleted(AsyncDetails<V, R> details) {
+        if (!collectStats) {
+            return;
+        }
+        if (details.markCompleted()) {
+            RedisConnection connection = details.getConnectionFuture().getNow();
+            connection.getRedisClient().getStats().commandCompleted(System.nanoTime() - details.getSentTime());
+        }
+    }
+
     private <R, V> void checkAttemptFuture(final NodeSource source, final AsyncDetails<V, R> details,
             Future<R> future) {
         details.getTimeout().cancel();
+        commandCompleted(details);
         if (future.isCancelled()) {
             return;
         }
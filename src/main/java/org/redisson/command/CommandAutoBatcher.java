@@ -0,0 +1,134 @@
+/**
+ * Copyright 2014 Nikita Koksharov, Nickolay Borbit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.command;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.client.RedisNodeNotFoundException;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.protocol.QueueCommand;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.client.protocol.decoder.StreamMultiDecoder;
+import org.redisson.connection.ConnectionManager;
+import org.redisson.connection.NodeSource;
+
+import io.netty.util.concurrent.Promise;
+
+/**
+ * Collects async commands executed during <code>autoBatchWindow</code>
+ * into {@link CommandBatchService} which pipelines commands of each node
+ * in one write. Command promises are completed by own replies.
+ * Read and write commands are collected into separate batches,
+ * so reads of other callers are still routed according to <code>ReadMode</code>.
+ * <p/>
+ * Synchronous calls made through {@link CommandSyncService} are
+ * collected as well, so each of them is delayed by up to <code>autoBatchWindow</code>.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+class CommandAutoBatcher {
+
+    private final ConnectionManager connectionManager;
+    private final long window;
+    private final int size;
+
+    // indexed by read-only mode, see #index
+    private final CommandBatchService[] batches = new CommandBatchService[2];
+    private final int[] batchSizes = new int[2];
+
+    CommandAutoBatcher(ConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+        this.window = connectionManager.getConfig().getAutoBatchWindow();
+        this.size = connectionManager.getConfig().getAutoBatchSize();
+    }
+
+    /**
+     * @return <code>false</code> if command can't be executed in batch
+     */
+    public <V, R> boolean add(boolean readOnlyMode, NodeSource source, Codec codec,
+            RedisCommand<V> command, Object[] params, Promise<R> mainPromise) {
+        if (!isSupported(source, command)) {
+            return false;
+        }
+
+        final int index = index(readOnlyMode);
+        CommandBatchService batchToExecute = null;
+        synchronized (this) {
+            if (batches[index] == null) {
+                final CommandBatchService newBatch = new CommandBatchService(connectionManager);
+                try {
+                    connectionManager.getGroup().next().schedule(new Runnable() {
+                        @Override
+                        public void run() {
+                            execute(newBatch, index);
+                        }
+                    }, window, TimeUnit.MICROSECONDS);
+                } catch (RejectedExecutionException e) {
+                    // shutdown is in progress
+                    return false;
+                }
+                batches[index] = newBatch;
+            }
+
+            try {
+                batches[index].async(readOnlyMode, source, codec, command, params, mainPromise, 0);
+            } catch (RedisNodeNotFoundException e) {
+                // let usual execution path report the error
+                return false;
+            }
+            batchSizes[index]++;
+            if (batchSizes[index] >= size) {
+                batchToExecute = batches[index];
+                batches[index] = null;
+                batchSizes[index] = 0;
+            }
+        }
+
+        if (batchToExecute != null) {
+            batchToExecute.executeAsyncVoid();
+        }
+        return true;
+    }
+
+    private void execute(CommandBatchService scheduledBatch, int index) {
+        synchronized (this) {
+            if (batches[index] != scheduledBatch) {
+                // already executed due to size limit
+                return;
+            }
+            batches[index] = null;
+            batchSizes[index] = 0;
+        }
+        scheduledBatch.executeAsyncVoid();
+    }
+
+    private int index(boolean readOnlyMode) {
+        if (readOnlyMode) {
+            return 0;
+        }
+        return 1;
+    }
+
+    private boolean isSupported(NodeSource source, RedisCommand<?> command) {
+        return source.getAddr() == null && source.getRedirect() == null
+                && !QueueCommand.TIMEOUTLESS_COMMANDS.contains(command.getName())
+                // streamed reply may suspend channel reading
+                && !(command.getReplayMultiDecoder() instanceof StreamMultiDecoder);
+    }
+
+}
@@ -16,8 +16,12 @@
 package org.redisson.command;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
@@ -26,7 +30,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.redisson.client.RedisAskException;
 import org.redisson.client.RedisConnection;
 import org.redisson.client.RedisLoadingException;
-import org.redisson.client.RedisMovedException;
+import org.redisson.client.RedisNodeNotFoundException;
+import org.redisson.client.RedisRedirectException;
 import org.redisson.client.RedisTimeoutException;
 import org.redisson.client.WriteRedisConnectionException;
 import org.redisson.client.codec.Codec;
@@ -37,6 +42,7 @@ import org.redisson.client.protocol.CommandsData;
 import org.redisson.client.protocol.RedisCommand;
 import org.redisson.client.protocol.RedisCommands;
 import org.redisson.connection.ConnectionManager;
+import org.redisson.connection.MasterSlaveEntry;
 import org.redisson.connection.NodeSource;
 import org.redisson.connection.NodeSource.Redirect;
 
@@ -51,12 +57,25 @@ import io.netty.util.internal.PlatformDependent;
 
 public class CommandBatchService extends CommandReactiveService {
 
+    /**
+     * Commands of batch sent to the same node
+     */
     public static class Entry {
 
         Queue<BatchCommandData<?, ?>> commands = PlatformDependent.newMpscQueue();
 
+        final int slot;
+
         volatile boolean readOnlyMode = true;
 
+        public Entry(int slot) {
+            this.slot = slot;
+        }
+
+        public int getSlot() {
+            return slot;
+        }
+
         public Queue<BatchCommandData<?, ?>> getCommands() {
             return commands;
         }
@@ -69,6 +88,27 @@ public class CommandBatchService extends CommandReactiveService {
             return readOnlyMode;
         }
         
+        /**
+         * Fails commands which haven't got reply
+         */
+        public void failCommands(Throwable cause) {
+            for (BatchCommandData<?, ?> commandEntry : commands) {
+                commandEntry.getPromise().tryFailure(cause);
+            }
+        }
+
+        /**
+         * @return <code>true</code> if any command has been redirected to another node
+         */
+        public boolean hasRedirects() {
+            for (BatchCommandData<?, ?> commandEntry : commands) {
+                if (commandEntry.cause() instanceof RedisRedirectException) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
         public void clearErrors() {
             for (BatchCommandData<?, ?> commandEntry : commands) {
                 commandEntry.clearError();
@@ -79,24 +119,44 @@ public class CommandBatchService extends CommandReactiveService {
 
     private final AtomicInteger index = new AtomicInteger();
 
-    private ConcurrentMap<Integer, Entry> commands = PlatformDependent.newConcurrentHashMap();
+    private ConcurrentMap<MasterSlaveEntry, Entry> commands = PlatformDependent.newConcurrentHashMap();
 
     private volatile boolean executed;
 
+    private volatile boolean skipResult;
+
+    private volatile boolean atomic;
+
     public CommandBatchService(ConnectionManager connectionManager) {
         super(connectionManager);
     }
 
+    @Override
+    protected boolean useScriptCache() {
+        // NOSCRIPT error can't be retried inside of batch
+        return false;
+    }
+
+    @Override
+    protected boolean useHedgedReads() {
+        // batch commands are sent at once
+        return false;
+    }
+
     @Override
     protected <V, R> void async(boolean readOnlyMode, NodeSource nodeSource,
             Codec codec, RedisCommand<V> command, Object[] params, Promise<R> mainPromise, int attempt) {
         if (executed) {
             throw new IllegalStateException("Batch already has been executed!");
         }
-        Entry entry = commands.get(nodeSource.getSlot());
+        MasterSlaveEntry node = connectionManager.getEntry(nodeSource.getSlot());
+        if (node == null) {
+            throw new RedisNodeNotFoundException("No node for slot: " + nodeSource.getSlot() + " and command " + command);
+        }
+        Entry entry = commands.get(node);
         if (entry == null) {
-            entry = new Entry();
-            Entry oldEntry = commands.putIfAbsent(nodeSource.getSlot(), entry);
+            entry = new Entry(nodeSource.getSlot());
+            Entry oldEntry = commands.putIfAbsent(node, entry);
             if (oldEntry != null) {
                 entry = oldEntry;
             }
@@ -114,6 +174,43 @@ public class CommandBatchService extends CommandReactiveService {
         return get(executeAsync());
     }
 
+    public List<?> executeAtomic() {
+        return get(executeAtomicAsync());
+    }
+
+    /**
+     * Executes batch wrapping commands of each node into <code>MULTI</code> and <code>EXEC</code>.
+     *
+     * @return list with result of each command
+     */
+    public Future<List<?>> executeAtomicAsync() {
+        if (executed) {
+            throw new IllegalStateException("Batch already executed!");
+        }
+
+        atomic = true;
+        for (Entry entry : commands.values()) {
+            // transaction is executed on master
+            entry.setReadOnlyMode(false);
+        }
+        return executeAsync();
+    }
+
+    public void executeSkipResult() {
+        get(executeSkipResultAsync());
+    }
+
+    /**
+     * Executes batch without decoding of replies.
+     * Only errors are detected and reported by returned future.
+     *
+     * @return void
+     */
+    public Future<Void> executeSkipResultAsync() {
+        skipResult = true;
+        return executeAsyncVoid();
+    }
+
     public Future<Void> executeAsyncVoid() {
         if (executed) {
             throw new IllegalStateException("Batch already executed!");
@@ -133,8 +230,8 @@ public class CommandBatchService extends CommandReactiveService {
         });
 
         AtomicInteger slots = new AtomicInteger(commands.size());
-        for (java.util.Map.Entry<Integer, Entry> e : commands.entrySet()) {
-            execute(e.getValue(), new NodeSource(e.getKey()), voidPromise, slots, 0);
+        for (Entry e : commands.values()) {
+            executeChunked(e, voidPromise, slots);
         }
         return voidPromise;
     }
@@ -175,19 +272,84 @@ public class CommandBatchService extends CommandReactiveService {
         });
 
         AtomicInteger slots = new AtomicInteger(commands.size());
-        for (java.util.Map.Entry<Integer, Entry> e : commands.entrySet()) {
-            execute(e.getValue(), new NodeSource(e.getKey()), voidPromise, slots, 0);
+        for (Entry e : commands.values()) {
+            executeChunked(e, voidPromise, slots);
         }
         return promise;
     }
 
+    /**
+     * Splits commands of node entry into chunks limited by <code>batchChunkSize</code>.
+     * Chunks are sent one after another, so only one chunk per node is encoded
+     * and awaits replies at a time and commands order is kept.
+     * Results aren't needed in skip result mode, so commands are moved out of node entry
+     * and each completed chunk is cleared.
+     */
+    private void executeChunked(Entry entry, final Promise<Void> mainPromise, final AtomicInteger slots) {
+        int chunkSize = connectionManager.getConfig().getBatchChunkSize();
+        if (chunkSize <= 0 || atomic || entry.getCommands().size() <= chunkSize) {
+            execute(entry, new NodeSource(entry.getSlot()), mainPromise, slots, 0);
+            return;
+        }
+
+        final List<Entry> chunks = new ArrayList<Entry>();
+        Entry chunk = null;
+        Collection<BatchCommandData<?, ?>> commands = entry.getCommands();
+        if (skipResult) {
+            commands = new ArrayList<BatchCommandData<?, ?>>(entry.getCommands());
+            entry.getCommands().clear();
+        }
+        for (BatchCommandData<?, ?> command : commands) {
+            if (chunk == null || chunk.getCommands().size() == chunkSize) {
+                chunk = new Entry(entry.getSlot());
+                chunk.setReadOnlyMode(entry.isReadOnlyMode());
+                chunks.add(chunk);
+            }
+            chunk.getCommands().add(command);
+        }
+        executeChunk(chunks, 0, mainPromise, slots);
+    }
+
+    private void executeChunk(final List<Entry> chunks, final int index, final Promise<Void> mainPromise, final AtomicInteger slots) {
+        Entry chunk = chunks.get(index);
+        Promise<Void> chunkPromise = connectionManager.newPromise();
+        chunkPromise.addListener(new FutureListener<Void>() {
+            @Override
+            public void operationComplete(Future<Void> future) throws Exception {
+                if (!future.isSuccess()) {
+                    for (int i = index + 1; i < chunks.size(); i++) {
+                        chunks.get(i).failCommands(future.cause());
+                    }
+                    mainPromise.tryFailure(future.cause());
+                    return;
+                }
+
+                if (skipResult) {
+                    chunks.get(index).getCommands().clear();
+                }
+
+                if (index + 1 < chunks.size()) {
+                    if (mainPromise.isCancelled()) {
+                        return;
+                    }
+                    executeChunk(chunks, index + 1, mainPromise, slots);
+                } else if (slots.decrementAndGet() == 0) {
+                    mainPromise.trySuccess(null);
+                }
+            }
+        });
+        execute(chunk, new NodeSource(chunk.getSlot()), chunkPromise, new AtomicInteger(1), 0);
+    }
+
     public void execute(final Entry entry, final NodeSource source, final Promise<Void> mainPromise, final AtomicInteger slots, final int attempt) {
         if (mainPromise.isCancelled()) {
             return;
         }
 
         if (!connectionManager.getShutdownLatch().acquire()) {
-            mainPromise.setFailure(new IllegalStateException("Redisson is shutdown"));
+            IllegalStateException cause = new IllegalStateException("Redisson is shutdown");
+            entry.failCommands(cause);
+            mainPromise.tryFailure(cause);
             return;
         }
 
@@ -263,16 +425,9 @@ public class CommandBatchService extends CommandReactiveService {
                     return;
                 }
 
-                if (future.cause() instanceof RedisMovedException) {
-                    RedisMovedException ex = (RedisMovedException)future.cause();
-                    entry.clearErrors();
-                    execute(entry, new NodeSource(ex.getSlot(), ex.getAddr(), Redirect.MOVED), mainPromise, slots, attempt);
-                    return;
-                }
-                if (future.cause() instanceof RedisAskException) {
-                    RedisAskException ex = (RedisAskException)future.cause();
-                    entry.clearErrors();
-                    execute(entry, new NodeSource(ex.getSlot(), ex.getAddr(), Redirect.ASK), mainPromise, slots, attempt);
+                // batch error is the last command error, so redirects are checked per command
+                if (!future.isSuccess() && entry.hasRedirects()) {
+                    redirect(entry, mainPromise, slots, attempt);
                     return;
                 }
                 if (future.cause() instanceof RedisLoadingException) {
@@ -286,10 +441,79 @@ public class CommandBatchService extends CommandReactiveService {
                         mainPromise.setSuccess(future.getNow());
                     }
                 } else {
-                    mainPromise.setFailure(future.cause());
+                    entry.failCommands(future.cause());
+                    mainPromise.tryFailure(future.cause());
+                }
+            }
+        });
+    }
+
+    /**
+     * Resends only redirected commands of node entry.
+     * Commands are grouped by redirect target node.
+     * Commands failed with other errors keep them and aren't resent,
+     * the first of these errors fails the batch once redirected commands are completed.
+     */
+    private void redirect(Entry entry, final Promise<Void> mainPromise, final AtomicInteger slots, int attempt) {
+        Map<String, Entry> redirects = new LinkedHashMap<String, Entry>();
+        Map<String, NodeSource> sources = new HashMap<String, NodeSource>();
+        Throwable error = null;
+        for (BatchCommandData<?, ?> c : entry.getCommands()) {
+            Throwable cause = c.cause();
+            if (cause == null) {
+                continue;
+            }
+            if (!(cause instanceof RedisRedirectException)) {
+                if (error == null) {
+                    error = cause;
+                }
+                continue;
+            }
+
+            RedisRedirectException ex = (RedisRedirectException) cause;
+            Redirect type = Redirect.MOVED;
+            if (ex instanceof RedisAskException) {
+                type = Redirect.ASK;
+            }
+            String key = type + ":" + ex.getUrl();
+            Entry redirectEntry = redirects.get(key);
+            if (redirectEntry == null) {
+                redirectEntry = new Entry(ex.getSlot());
+                redirectEntry.setReadOnlyMode(entry.isReadOnlyMode());
+                redirects.put(key, redirectEntry);
+                sources.put(key, new NodeSource(ex.getSlot(), ex.getAddr(), type));
+            }
+            redirectEntry.getCommands().add(c);
+        }
+
+        final Throwable commandError = error;
+        Promise<Void> redirectPromise = connectionManager.newPromise();
+        redirectPromise.addListener(new FutureListener<Void>() {
+            @Override
+            public void operationComplete(Future<Void> future) throws Exception {
+                if (!future.isSuccess()) {
+                    mainPromise.tryFailure(future.cause());
+                    return;
+                }
+                if (commandError != null) {
+                    mainPromise.tryFailure(commandError);
+                    return;
+                }
+                if (slots.decrementAndGet() == 0) {
+                    mainPromise.trySuccess(null);
                 }
             }
         });
+
+        if (redirects.isEmpty()) {
+            redirectPromise.trySuccess(null);
+            return;
+        }
+        AtomicInteger redirectSlots = new AtomicInteger(redirects.size());
+        for (java.util.Map.Entry<String, Entry> e : redirects.entrySet()) {
+            e.getValue().clearErrors();
+            execute(e.getValue(), sources.get(e.getKey()), redirectPromise, redirectSlots, attempt);
+        }
     }
 
     private void checkWriteFuture(final Promise<Void> attemptPromise, AsyncDetails details,
@@ -314,6 +538,11 @@ public class CommandBatchService extends CommandReactiveService {
         }
     }
 
+    private <T> CommandData<T, T> newCommand(RedisCommand<T> command, Object ... params) {
+        Promise<T> promise = connectionManager.newPromise();
+        return new CommandData<T, T>(promise, StringCodec.INSTANCE, command, params);
+    }
+
     private void checkConnectionFuture(final Entry entry, final NodeSource source,
             final Promise<Void> mainPromise, final Promise<Void> attemptPromise, final AsyncDetails details,
             Future<RedisConnection> connFuture) {
@@ -330,18 +559,24 @@ public class CommandBatchService extends CommandReactiveService {
         final RedisConnection connection = connFuture.getNow();
 
         List<CommandData<?, ?>> list = new ArrayList<CommandData<?, ?>>(entry.getCommands().size() + 1);
-        if (source.getRedirect() == Redirect.ASK) {
-            Promise<Void> promise = connectionManager.newPromise();
-            list.add(new CommandData<Void, Void>(promise, StringCodec.INSTANCE, RedisCommands.ASKING, new Object[] {}));
-        } 
+        if (atomic) {
+            list.add(newCommand(RedisCommands.MULTI));
+        }
         for (BatchCommandData<?, ?> c : entry.getCommands()) {
             if (c.getPromise().isSuccess()) {
                 // skip successful commands
                 continue;
             }
+            if (source.getRedirect() == Redirect.ASK && !atomic) {
+                // ASKING flag is reset after each command
+                list.add(newCommand(RedisCommands.ASKING));
+            }
             list.add(c);
         }
-        ChannelFuture future = connection.send(new CommandsData(attemptPromise, list));
+        if (atomic) {
+            list.add(newCommand(RedisCommands.EXEC));
+        }
+        ChannelFuture future = connection.send(new CommandsData(attemptPromise, list, skipResult, atomic));
         details.setWriteFuture(future);
 
         if (details.getWriteFuture().isDone()) {
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2014 Nikita Koksharov, Nickolay Borbit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.command;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Estimates delay after which read command is repeated to another replica.
+ * Delay is the configured percentile of recent read latencies
+ * but not less than <code>hedgedReadMinDelay</code>.
+ * Reads are not hedged until enough samples are collected.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+class HedgedReadPolicy {
+
+    static final long NO_HEDGE = Long.MAX_VALUE;
+
+    private static final int SAMPLES = 1024;
+    private static final int RECALC_INTERVAL = 128;
+
+    private final AtomicLongArray samples = new AtomicLongArray(SAMPLES);
+    private final AtomicInteger counter = new AtomicInteger();
+    private final AtomicBoolean recalculating = new AtomicBoolean();
+
+    private final int percentile;
+    private final long minDelay;
+
+    private volatile long delay = NO_HEDGE;
+
+    HedgedReadPolicy(int percentile, int minDelay) {
+        this.percentile = percentile;
+        this.minDelay = TimeUnit.MILLISECONDS.toNanos(minDelay);
+    }
+
+    /**
+     * @return delay in nanoseconds or {@link #NO_HEDGE}
+     */
+    public long getDelay() {
+        return delay;
+    }
+
+    /**
+     * @param time - read latency in nanoseconds
+     */
+    public void addSample(long time) {
+        int index = counter.getAndIncrement() & Integer.MAX_VALUE;
+        samples.set(index % SAMPLES, time);
+        if (index % RECALC_INTERVAL == RECALC_INTERVAL - 1) {
+            recalc(Math.min(index + 1, SAMPLES));
+        }
+    }
+
+    private void recalc(int count) {
+        if (!recalculating.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            long[] values = new long[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = samples.get(i);
+            }
+            Arrays.sort(values);
+            int index = (int) Math.ceil(count * percentile / 100.0) - 1;
+            index = Math.max(0, Math.min(count - 1, index));
+            delay = Math.max(minDelay, values[index]);
+        } finally {
+            recalculating.set(false);
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright 2014 Nikita Koksharov, Nickolay Borbit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.command;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+
+/**
+ * Reusable per-thread waiter for synchronous calls.
+ * Parks current thread till the future is done.
+ * Listener only unparks the owner thread, so stale notifications
+ * from previously awaited futures are harmless.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+class SyncWaiter implements FutureListener<Object> {
+
+    private static final ThreadLocal<SyncWaiter> waiters = new ThreadLocal<SyncWaiter>() {
+        @Override
+        protected SyncWaiter initialValue() {
+            return new SyncWaiter(Thread.currentThread());
+        }
+    };
+
+    private final Thread thread;
+
+    private SyncWaiter(Thread thread) {
+        this.thread = thread;
+    }
+
+    @Override
+    public void operationComplete(Future<Object> future) throws Exception {
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Waits till the future is done or current thread is interrupted.
+     * Interrupted status is preserved.
+     *
+     * @param future
+     */
+    @SuppressWarnings("unchecked")
+    static void await(Future<?> future) {
+        if (future.isDone()) {
+            return;
+        }
+
+        SyncWaiter waiter = waiters.get();
+        ((Future<Object>) future).addListener(waiter);
+        while (!future.isDone()) {
+            LockSupport.park(waiter);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        ((Future<Object>) future).removeListener(waiter);
+    }
+
+    /**
+     * Waits till the future is done or timeout has been elapsed.
+     *
+     * @param future
+     * @param timeout
+     * @param timeoutUnit
+     * @return <code>true</code> if future is done
+     * @throws InterruptedException
+     */
+    @SuppressWarnings("unchecked")
+    static boolean await(Future<?> future, long timeout, TimeUnit timeoutUnit) throws InterruptedException {
+        if (future.isDone()) {
+            return true;
+        }
+
+        long deadline = System.nanoTime() + timeoutUnit.toNanos(timeout);
+        SyncWaiter waiter = waiters.get();
+        ((Future<Object>) future).addListener(waiter);
+        try {
+            while (!future.isDone()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                LockSupport.parkNanos(waiter, remaining);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            return true;
+        } finally {
+            ((Future<Object>) future).removeListener(waiter);
+        }
+    }
+
+}
@@ -18,6 +18,8 @@ package org.redisson.connection;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.redisson.MasterSlaveServersConfig;
 import org.redisson.client.ReconnectListener;
@@ -41,9 +43,15 @@ public class ClientConnectionsEntry {
     private final Queue<RedisPubSubConnection> freeSubscribeConnections = new ConcurrentLinkedQueue<RedisPubSubConnection>();
     private final AtomicInteger freeSubscribeConnectionsCounter = new AtomicInteger();
 
-    private final Queue<RedisConnection> freeConnections = new ConcurrentLinkedQueue<RedisConnection>();
+    private final Queue<RedisConnection> freeConnections;
     private final AtomicInteger freeConnectionsCounter = new AtomicInteger();
 
+    private final Queue<RedisConnection> freeBlockingConnections = new ConcurrentLinkedQueue<RedisConnection>();
+    private final AtomicInteger freeBlockingConnectionsCounter = new AtomicInteger();
+
+    private final AtomicReferenceArray<Future<RedisConnection>> sharedConnections;
+    private final AtomicInteger sharedConnectionsIndex = new AtomicInteger();
+
     public enum FreezeReason {MANAGER, RECONNECT, SYSTEM}
 
     private volatile boolean freezed;
@@ -55,18 +63,41 @@ public class ClientConnectionsEntry {
 
     private final AtomicInteger failedAttempts = new AtomicInteger();
 
+    private final AtomicInteger acquireWaits = new AtomicInteger();
+    private final AtomicLong acquireWaitTime = new AtomicLong();
+
     public ClientConnectionsEntry(RedisClient client, int poolMinSize, int poolMaxSize, int subscribePoolMinSize, int subscribePoolMaxSize,
             ConnectionManager connectionManager, NodeType serverMode) {
+        this(client, poolMinSize, poolMaxSize, subscribePoolMinSize, subscribePoolMaxSize, 0, 0, connectionManager, serverMode);
+    }
+
+    public ClientConnectionsEntry(RedisClient client, int poolMinSize, int poolMaxSize, int subscribePoolMinSize, int subscribePoolMaxSize,
+            int blockingPoolMinSize, int blockingPoolMaxSize, ConnectionManager connectionManager, NodeType serverMode) {
         this.client = client;
         this.freeConnectionsCounter.set(poolMaxSize);
+        if (connectionManager.getConfig().isEventLoopAffinity()) {
+            this.freeConnections = new EventLoopConnectionQueue<RedisConnection>();
+        } else {
+            this.freeConnections = new ConcurrentLinkedQueue<RedisConnection>();
+        }
         this.connectionManager = connectionManager;
         this.nodeType = serverMode;
         this.freeSubscribeConnectionsCounter.set(subscribePoolMaxSize);
+        this.sharedConnections = new AtomicReferenceArray<Future<RedisConnection>>(connectionManager.getConfig().getSharedConnections());
 
         if (subscribePoolMaxSize > 0) {
             connectionManager.getConnectionWatcher().add(subscribePoolMinSize, subscribePoolMaxSize, freeSubscribeConnections, freeSubscribeConnectionsCounter);
         }
-        connectionManager.getConnectionWatcher().add(poolMinSize, poolMaxSize, freeConnections, freeConnectionsCounter);
+        if (connectionManager.getConfig().getAdaptivePoolInterval() > 0) {
+            connectionManager.getConnectionWatcher().addAdaptive(this, poolMinSize, poolMaxSize, freeConnections, freeConnectionsCounter);
+        } else {
+            connectionManager.getConnectionWatcher().add(poolMinSize, poolMaxSize, freeConnections, freeConnectionsCounter);
+        }
+
+        this.freeBlockingConnectionsCounter.set(blockingPoolMaxSize);
+        if (blockingPoolMaxSize > 0) {
+            connectionManager.getConnectionWatcher().add(blockingPoolMinSize, blockingPoolMaxSize, freeBlockingConnections, freeBlockingConnectionsCounter);
+        }
     }
 
     public NodeType getNodeType() {
@@ -103,12 +134,39 @@ public class ClientConnectionsEntry {
 
     public void setFreezed(boolean freezed) {
         this.freezed = freezed;
+        if (freezed) {
+            closeSharedConnections();
+        }
     }
 
     public int getFreeAmount() {
         return freeConnectionsCounter.get();
     }
 
+    /**
+     * Registers acquire which waited for new connection
+     *
+     * @param time - in nanoseconds
+     */
+    public void addAcquireWait(long time) {
+        acquireWaitTime.addAndGet(time);
+        acquireWaits.incrementAndGet();
+    }
+
+    /**
+     * @return amount of acquires which waited for new connection
+     */
+    public int getAcquireWaits() {
+        return acquireWaits.get();
+    }
+
+    /**
+     * @return total time of acquires which waited for new connection in nanoseconds
+     */
+    public long getAcquireWaitTime() {
+        return acquireWaitTime.get();
+    }
+
     private boolean tryAcquire(AtomicInteger counter) {
         while (true) {
             int value = counter.get();
@@ -138,6 +196,67 @@ public class ClientConnectionsEntry {
         freeConnections.add(connection);
     }
 
+    public boolean tryAcquireBlockingConnection() {
+        return tryAcquire(freeBlockingConnectionsCounter);
+    }
+
+    public void releaseBlockingConnection() {
+        freeBlockingConnectionsCounter.incrementAndGet();
+    }
+
+    public RedisConnection pollBlockingConnection() {
+        return freeBlockingConnections.poll();
+    }
+
+    public void releaseBlockingConnection(RedisConnection connection) {
+        connection.setLastUsageTime(System.currentTimeMillis());
+        freeBlockingConnections.add(connection);
+    }
+
+    public int getSharedConnectionsAmount() {
+        return sharedConnections.length();
+    }
+
+    public Future<RedisConnection> getSharedConnection(int index) {
+        return sharedConnections.get(index);
+    }
+
+    public boolean replaceSharedConnection(int index, Future<RedisConnection> expect, Future<RedisConnection> update) {
+        return sharedConnections.compareAndSet(index, expect, update);
+    }
+
+    /**
+     * Returns shared connection index for callers
+     * which aren't bound to any of shared connections event loops.
+     *
+     */
+    public int nextSharedConnectionIndex() {
+        return (sharedConnectionsIndex.getAndIncrement() & Integer.MAX_VALUE) % sharedConnections.length();
+    }
+
+    /**
+     * Detaches and closes all shared connections.
+     * Invoked once entry has been freezed or removed from pool.
+     *
+     */
+    public void closeSharedConnections() {
+        for (int i = 0; i < sharedConnections.length(); i++) {
+            Future<RedisConnection> future = sharedConnections.getAndSet(i, null);
+            if (future == null) {
+                continue;
+            }
+
+            future.addListener(new FutureListener<RedisConnection>() {
+                @Override
+                public void operationComplete(Future<RedisConnection> future) throws Exception {
+                    if (future.isSuccess()) {
+                        future.getNow().closeAsync();
+                    }
+                }
+            });
+        }
+    }
+
     public Future<RedisConnection> connect() {
         final Promise<RedisConnection> connectionFuture = ImmediateEventExecutor.INSTANCE.newPromise();
         Future<RedisConnection> future = client.connectAsync();
@@ -253,7 +372,8 @@ public class ClientConnectionsEntry {
         return "[freeSubscribeConnectionsAmount=" + freeSubscribeConnections.size()
                 + ", freeSubscribeConnectionsCounter=" + freeSubscribeConnectionsCounter
                 + ", freeConnectionsAmount=" + freeConnections.size() + ", freeConnectionsCounter="
-                + freeConnectionsCounter + ", freezed=" + freezed + ", freezeReason=" + freezeReason
+                + freeConnectionsCounter + ", freeBlockingConnectionsAmount=" + freeBlockingConnections.size()
+                + ", freeBlockingConnectionsCounter=" + freeBlockingConnectionsCounter + ", freezed=" + freezed + ", freezeReason=" + freezeReason
                 + ", client=" + client + ", nodeType=" + nodeType + ", failedAttempts=" + failedAttempts
                 + "]";
     }
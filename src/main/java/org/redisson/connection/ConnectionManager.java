@@ -57,6 +57,8 @@ public interface ConnectionManager {
 
     ConnectionInitializer getConnectListener();
 
+    ScriptCache getScriptCache();
+
     IdleConnectionWatcher getConnectionWatcher();
 
     <R> Future<R> newFailedFuture(Throwable cause);
@@ -73,6 +75,11 @@ public interface ConnectionManager {
 
     Map<ClusterSlotRange, MasterSlaveEntry> getEntries();
 
+    /**
+     * One slot owned by each master node
+     */
+    Collection<Integer> getNodeSlots();
+
     <R> Promise<R> newPromise();
 
     void releaseRead(NodeSource source, RedisConnection connection);
@@ -89,6 +96,8 @@ public interface ConnectionManager {
 
     MasterSlaveEntry getEntry(InetSocketAddress addr);
 
+    MasterSlaveEntry getEntry(int slot);
+
     PubSubConnectionEntry getPubSubEntry(String channelName);
 
     Future<PubSubConnectionEntry> psubscribe(String pattern, Codec codec);
@@ -0,0 +1,182 @@
+/**
+ * Copyright 2014 Nikita Koksharov, Nickolay Borbit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.connection;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.redisson.client.RedisConnection;
+
+import io.netty.channel.EventLoop;
+
+/**
+ * Free connections queue partitioned by event loop of connection channel.
+ * Caller running on event loop polls connections bound to the same loop first,
+ * other callers start from a partition selected by thread id,
+ * so producers and consumers don't contend on a single queue.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <T> connection type
+ */
+class EventLoopConnectionQueue<T extends RedisConnection> extends AbstractQueue<T> {
+
+    static class Partition<T> {
+
+        final EventLoop eventLoop;
+        final Queue<T> connections = new ConcurrentLinkedQueue<T>();
+
+        Partition(EventLoop eventLoop) {
+            this.eventLoop = eventLoop;
+        }
+
+    }
+
+    private volatile List<Partition<T>> partitions = Collections.emptyList();
+
+    private Partition<T> getPartition(EventLoop eventLoop) {
+        for (Partition<T> partition : partitions) {
+            if (partition.eventLoop == eventLoop) {
+                return partition;
+            }
+        }
+
+        synchronized (this) {
+            for (Partition<T> partition : partitions) {
+                if (partition.eventLoop == eventLoop) {
+                    return partition;
+                }
+            }
+
+            Partition<T> partition = new Partition<T>(eventLoop);
+            List<Partition<T>> newPartitions = new ArrayList<Partition<T>>(partitions);
+            newPartitions.add(partition);
+            partitions = newPartitions;
+            return partition;
+        }
+    }
+
+    @Override
+    public boolean offer(T connection) {
+        return getPartition(connection.getChannel().eventLoop()).connections.offer(connection);
+    }
+
+    @Override
+    public T poll() {
+        List<Partition<T>> list = partitions;
+        int size = list.size();
+        if (size == 0) {
+            return null;
+        }
+
+        int start = -1;
+        for (int i = 0; i < size; i++) {
+            if (list.get(i).eventLoop.inEventLoop()) {
+                start = i;
+                break;
+            }
+        }
+        if (start == -1) {
+            start = (int) (Thread.currentThread().getId() % size);
+        }
+
+        for (int i = 0; i < size; i++) {
+            T connection = list.get((start + i) % size).connections.poll();
+            if (connection != null) {
+                return connection;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public T peek() {
+        for (Partition<T> partition : partitions) {
+            T connection = partition.connections.peek();
+            if (connection != null) {
+                return connection;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        // channel of connection could be changed after reconnection
+        for (Partition<T> partition : partitions) {
+            if (partition.connections.remove(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Partition<T> partition : partitions) {
+            size += partition.connections.size();
+        }
+        return size;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        final Iterator<Partition<T>> partitionsIterator = partitions.iterator();
+        return new Iterator<T>() {
+
+            private Iterator<T> current;
+            private Iterator<T> last;
+
+            @Override
+            public boolean hasNext() {
+                while (current == null || !current.hasNext()) {
+                    if (!partitionsIterator.hasNext()) {
+                        return false;
+                    }
+                    current = partitionsIterator.next().connections.iterator();
+                }
+                return true;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                last = current;
+                return current.next();
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                last.remove();
+                last = null;
+            }
+
+        };
+    }
+
+}
@@ -16,6 +16,7 @@
 package org.redisson.connection;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
@@ -23,6 +24,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.redisson.MasterSlaveServersConfig;
 import org.redisson.client.RedisConnection;
+import org.redisson.connection.pool.ConnectionPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,9 +53,62 @@ public class IdleConnectionWatcher {
 
     };
 
+    /**
+     * Smoothed demand of connection pool based on amount of connections in use
+     * and amount of acquires which waited for a new connection.
+     * Demand rises quickly and decays slowly.
+     */
+    public static class AdaptiveEntry {
+
+        private static final double RISE_FACTOR = 0.5;
+        private static final double DECAY_FACTOR = 0.1;
+        private static final double HEADROOM = 0.25;
+        private static final int MAX_CONNECTIONS_PER_STEP = 10;
+
+        private final ClientConnectionsEntry clientEntry;
+        private final int minimumAmount;
+        private final int maximumAmount;
+        private final AtomicInteger freeConnectionsCounter;
+        private final Queue<? extends RedisConnection> connections;
+
+        private volatile ConnectionPool<RedisConnection> connectionPool;
+
+        private double demand;
+        private int lastAcquireWaits;
+        private long lastAcquireWaitTime;
+
+        public AdaptiveEntry(ClientConnectionsEntry clientEntry, int minimumAmount, int maximumAmount,
+                Queue<? extends RedisConnection> connections, AtomicInteger freeConnectionsCounter) {
+            this.clientEntry = clientEntry;
+            this.minimumAmount = minimumAmount;
+            this.maximumAmount = maximumAmount;
+            this.connections = connections;
+            this.freeConnectionsCounter = freeConnectionsCounter;
+        }
+
+        int getTarget() {
+            int target = (int) Math.ceil(demand * (1 + HEADROOM));
+            return Math.max(minimumAmount, Math.min(maximumAmount, target));
+        }
+
+    }
+
     private final Queue<Entry> entries = new ConcurrentLinkedQueue<Entry>();
 
+    private final Queue<AdaptiveEntry> adaptiveEntries = new ConcurrentLinkedQueue<AdaptiveEntry>();
+
     public IdleConnectionWatcher(final ConnectionManager manager, final MasterSlaveServersConfig config) {
+        if (config.getAdaptivePoolInterval() > 0) {
+            manager.getGroup().scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    for (AdaptiveEntry entry : adaptiveEntries) {
+                        adapt(entry, config.getAdaptivePoolInterval());
+                    }
+                }
+            }, config.getAdaptivePoolInterval(), config.getAdaptivePoolInterval(), TimeUnit.MILLISECONDS);
+        }
+
         manager.getGroup().scheduleWithFixedDelay(new Runnable() {
 
             @Override
@@ -91,4 +146,106 @@ public class IdleConnectionWatcher {
         entries.add(new Entry(minimumAmount, maximumAmount, connections, freeConnectionsCounter));
     }
 
+    public void addAdaptive(ClientConnectionsEntry clientEntry, int minimumAmount, int maximumAmount,
+            Queue<? extends RedisConnection> connections, AtomicInteger freeConnectionsCounter) {
+        adaptiveEntries.add(new AdaptiveEntry(clientEntry, minimumAmount, maximumAmount, connections, freeConnectionsCounter));
+    }
+
+    /**
+     * Sets pool used to create connections ahead of demand.
+     * Pool size isn't increased till it has been set.
+     *
+     * @param clientEntry
+     * @param connectionPool
+     */
+    public void setConnectionPool(ClientConnectionsEntry clientEntry, ConnectionPool<RedisConnection> connectionPool) {
+        for (AdaptiveEntry entry : adaptiveEntries) {
+            if (entry.clientEntry == clientEntry) {
+                entry.connectionPool = connectionPool;
+            }
+        }
+    }
+
+    /**
+     * Stops pool size adaptation of entry removed from its pool.
+     *
+     * @param clientEntry
+     */
+    public void remove(ClientConnectionsEntry clientEntry) {
+        for (Iterator<AdaptiveEntry> iterator = adaptiveEntries.iterator(); iterator.hasNext();) {
+            if (iterator.next().clientEntry == clientEntry) {
+                iterator.remove();
+            }
+        }
+    }
+
+    void adapt(AdaptiveEntry entry, long interval) {
+        ClientConnectionsEntry clientEntry = entry.clientEntry;
+        int acquireWaits = clientEntry.getAcquireWaits();
+        long acquireWaitTime = clientEntry.getAcquireWaitTime();
+        int waits = acquireWaits - entry.lastAcquireWaits;
+        long waitTime = acquireWaitTime - entry.lastAcquireWaitTime;
+        entry.lastAcquireWaits = acquireWaits;
+        entry.lastAcquireWaitTime = acquireWaitTime;
+
+        if (clientEntry.isFreezed()) {
+            return;
+        }
+
+        int inUse = entry.maximumAmount - entry.freeConnectionsCounter.get();
+        int idle = entry.connections.size();
+        int total = inUse + idle;
+
+        // each acquire waited for connect is a sign of shortage
+        double sample = inUse + waits;
+        double factor = AdaptiveEntry.DECAY_FACTOR;
+        if (sample > entry.demand) {
+            factor = AdaptiveEntry.RISE_FACTOR;
+        }
+        entry.demand += (sample - entry.demand) * factor;
+
+        int target = entry.getTarget();
+        if (log.isDebugEnabled() && waits > 0) {
+            log.debug("{} connection acquires waited {} us on average for {}. In use: {}, idle: {}, target: {}",
+                    waits, TimeUnit.NANOSECONDS.toMicros(waitTime / waits), clientEntry.getClient().getAddr(), inUse, idle, target);
+        }
+
+        if (total < target) {
+            int amount = Math.min(target - total, AdaptiveEntry.MAX_CONNECTIONS_PER_STEP);
+            for (int i = 0; i < amount; i++) {
+                if (!grow(entry)) {
+                    break;
+                }
+            }
+            return;
+        }
+
+        // shrink gradually and only by connections unused during last interval
+        int amount = Math.min(idle, (total - target + 1) / 2);
+        long currTime = System.currentTimeMillis();
+        for (final RedisConnection c : entry.connections) {
+            if (amount <= 0) {
+                break;
+            }
+            if (currTime - c.getLastUsageTime() > interval
+                    && entry.connections.remove(c)) {
+                amount--;
+                c.closeAsync().addListener(new FutureListener<Void>() {
+                    @Override
+                    public void operationComplete(Future<Void> future) throws Exception {
+                        log.debug("Connection {} has been closed due to decreased demand", c.getChannel());
+                    }
+                });
+            }
+        }
+    }
+
+    boolean grow(AdaptiveEntry entry) {
+        ConnectionPool<RedisConnection> connectionPool = entry.connectionPool;
+        if (connectionPool == null) {
+            return false;
+        }
+        return connectionPool.addIdleConnection(entry.clientEntry);
+    }
+
 }
@@ -17,10 +17,13 @@ package org.redisson.connection;
 
 import java.net.InetSocketAddress;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -40,7 +43,9 @@ import org.redisson.client.RedisNodeNotFoundException;
 import org.redisson.client.RedisPubSubConnection;
 import org.redisson.client.RedisPubSubListener;
 import org.redisson.client.codec.Codec;
+import org.redisson.client.protocol.QueueCommand;
 import org.redisson.client.protocol.RedisCommand;
+import org.redisson.client.protocol.decoder.StreamMultiDecoder;
 import org.redisson.client.protocol.pubsub.PubSubType;
 import org.redisson.cluster.ClusterSlotRange;
 import org.redisson.connection.ClientConnectionsEntry.FreezeReason;
@@ -111,6 +116,8 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
 
     protected EventLoopGroup group;
 
+    protected final ScriptCache scriptCache = new ScriptCache();
+
     protected ConnectionInitializer connectListener = new DefaultConnectionListener();
 
     protected Class<? extends SocketChannel> socketChannelClass;
@@ -123,6 +130,12 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
 
     private final Map<ClusterSlotRange, MasterSlaveEntry> entries = PlatformDependent.newConcurrentHashMap();
 
+    private volatile RoutingTable routingTable = new RoutingTable(Collections.<ClusterSlotRange, MasterSlaveEntry>emptyMap());
+
+    // guarded by entries
+    private boolean routingTableDeferred;
+    private boolean routingTableChanged;
+
     private final Promise<Boolean> shutdownPromise;
 
     private final InfinitySemaphoreLatch shutdownLatch = new InfinitySemaphoreLatch();
@@ -186,6 +199,11 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
         return entries;
     }
 
+    @Override
+    public Collection<Integer> getNodeSlots() {
+        return routingTable.nodeSlots;
+    }
+
     protected void init(MasterSlaveServersConfig config) {
         this.config = config;
 
@@ -215,6 +233,11 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
         return connectListener;
     }
 
+    @Override
+    public ScriptCache getScriptCache() {
+        return scriptCache;
+    }
+
     protected void initEntry(MasterSlaveServersConfig config) {
         HashSet<ClusterSlotRange> slots = new HashSet<ClusterSlotRange>();
         slots.add(singleSlotRange);
@@ -251,6 +274,22 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
         c.setLoadBalancer(cfg.getLoadBalancer());
         c.setPassword(cfg.getPassword());
         c.setClientName(cfg.getClientName());
+        c.setPipelining(cfg.isPipelining());
+        c.setSharedConnections(cfg.getSharedConnections());
+        c.setMaxCommandsPerFlush(cfg.getMaxCommandsPerFlush());
+        c.setMaxBytesPerFlush(cfg.getMaxBytesPerFlush());
+        c.setLazyDecoding(cfg.isLazyDecoding());
+        c.setUseScriptCache(cfg.isUseScriptCache());
+        c.setAutoBatchWindow(cfg.getAutoBatchWindow());
+        c.setAutoBatchSize(cfg.getAutoBatchSize());
+        c.setBatchChunkSize(cfg.getBatchChunkSize());
+        c.setEventLoopAffinity(cfg.isEventLoopAffinity());
+        c.setAdaptivePoolInterval(cfg.getAdaptivePoolInterval());
+        c.setLazyInit(cfg.isLazyInit());
+        c.setConnectionWarmUpParallelism(cfg.getConnectionWarmUpParallelism());
+        c.setHedgedReadPercentile(cfg.getHedgedReadPercentile());
+        c.setHedgedReadMinDelay(cfg.getHedgedReadMinDelay());
+        c.setStreamSuspendTimeout(cfg.getStreamSuspendTimeout());
         c.setMasterConnectionPoolSize(cfg.getMasterConnectionPoolSize());
         c.setSlaveConnectionPoolSize(cfg.getSlaveConnectionPoolSize());
         c.setSlaveSubscriptionConnectionPoolSize(cfg.getSlaveSubscriptionConnectionPoolSize());
@@ -264,13 +303,17 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
         c.setSlaveConnectionMinimumIdleSize(cfg.getSlaveConnectionMinimumIdleSize());
         c.setSlaveSubscriptionConnectionMinimumIdleSize(cfg.getSlaveSubscriptionConnectionMinimumIdleSize());
         c.setReadMode(cfg.getReadMode());
+        c.setBlockingConnectionPoolSize(cfg.getBlockingConnectionPoolSize());
+        c.setBlockingConnectionMinimumIdleSize(cfg.getBlockingConnectionMinimumIdleSize());
 
         return c;
     }
 
     @Override
     public RedisClient createClient(NodeType type, String host, int port) {
-        RedisClient client = createClient(host, port, config.getConnectTimeout());
+        RedisClient client = new RedisClient(group, socketChannelClass, host, port, config.getConnectTimeout(),
+                config.isPipelining() || config.getSharedConnections() > 0,
+                config.getMaxCommandsPerFlush(), config.getMaxBytesPerFlush());
         clients.add(new RedisClientEntry(client, this, type));
         return client;
     }
@@ -521,27 +564,20 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
 
     @Override
     public MasterSlaveEntry getEntry(InetSocketAddress addr) {
-        // TODO optimize
-        for (Entry<ClusterSlotRange, MasterSlaveEntry> entry : entries.entrySet()) {
-            if (entry.getValue().getClient().getAddr().equals(addr)) {
-                return entry.getValue();
-            }
-        }
-        return null;
+        return routingTable.addr2entry.get(addr);
     }
 
     protected MasterSlaveEntry getEntry(ClusterSlotRange slotRange) {
         return entries.get(slotRange);
     }
 
-    protected MasterSlaveEntry getEntry(int slot) {
-        // TODO optimize
-        for (Entry<ClusterSlotRange, MasterSlaveEntry> entry : entries.entrySet()) {
-            if (entry.getKey().isOwn(slot)) {
-                return entry.getValue();
-            }
+    @Override
+    public MasterSlaveEntry getEntry(int slot) {
+        MasterSlaveEntry[] slot2entry = routingTable.slot2entry;
+        if (slot < 0 || slot >= slot2entry.length) {
+            return null;
         }
-        return null;
+        return slot2entry[slot];
     }
 
     protected void slaveDown(ClusterSlotRange slotRange, String host, int port, FreezeReason freezeReason) {
@@ -550,22 +586,107 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
 
     protected void changeMaster(ClusterSlotRange slotRange, String host, int port) {
         getEntry(slotRange).changeMaster(host, port);
+        updateRoutingTable();
     }
 
     protected void addEntry(ClusterSlotRange slotRange, MasterSlaveEntry entry) {
         entries.put(slotRange, entry);
+        updateRoutingTable();
     }
 
     protected MasterSlaveEntry removeMaster(ClusterSlotRange slotRange) {
-        return entries.remove(slotRange);
+        MasterSlaveEntry entry = entries.remove(slotRange);
+        updateRoutingTable();
+        return entry;
+    }
+
+    /**
+     * Rebuilds routing table from current entries and publishes it at once,
+     * so concurrent lookups never observe partially updated table.
+     * Postponed till {@link #publishRoutingTable()} if topology update is in progress.
+     */
+    protected void updateRoutingTable() {
+        synchronized (entries) {
+            if (routingTableDeferred) {
+                routingTableChanged = true;
+                return;
+            }
+            routingTable = new RoutingTable(entries);
+        }
+    }
+
+    /**
+     * Starts topology update. Entries changes made after this call
+     * are published by {@link #publishRoutingTable()} with single routing table,
+     * so lookups observe either previous or resulting topology.
+     */
+    protected void deferRoutingTable() {
+        synchronized (entries) {
+            routingTableDeferred = true;
+        }
+    }
+
+    /**
+     * Publishes entries changes made since {@link #deferRoutingTable()}
+     */
+    protected void publishRoutingTable() {
+        synchronized (entries) {
+            routingTableDeferred = false;
+            if (routingTableChanged) {
+                routingTableChanged = false;
+                routingTable = new RoutingTable(entries);
+            }
+        }
+    }
+
+    /**
+     * Immutable slot and master address index of entries
+     */
+    private static class RoutingTable {
+
+        final MasterSlaveEntry[] slot2entry = new MasterSlaveEntry[MAX_SLOT];
+        final Map<InetSocketAddress, MasterSlaveEntry> addr2entry = new HashMap<InetSocketAddress, MasterSlaveEntry>();
+        final Collection<Integer> nodeSlots;
+
+        RoutingTable(Map<ClusterSlotRange, MasterSlaveEntry> entries) {
+            Map<MasterSlaveEntry, Integer> entry2slot = new LinkedHashMap<MasterSlaveEntry, Integer>();
+            for (Entry<ClusterSlotRange, MasterSlaveEntry> entry : entries.entrySet()) {
+                int endSlot = Math.min(entry.getKey().getEndSlot(), MAX_SLOT - 1);
+                Arrays.fill(slot2entry, entry.getKey().getStartSlot(), endSlot + 1, entry.getValue());
+                addr2entry.put(entry.getValue().getClient().getAddr(), entry.getValue());
+                if (!entry2slot.containsKey(entry.getValue())) {
+                    entry2slot.put(entry.getValue(), entry.getKey().getStartSlot());
+                }
+            }
+            nodeSlots = Collections.unmodifiableList(new ArrayList<Integer>(entry2slot.values()));
+        }
+
     }
 
     @Override
     public Future<RedisConnection> connectionWriteOp(NodeSource source, RedisCommand<?> command) {
         MasterSlaveEntry e = getEntry(source, command);
+        if (isBlockingConnection(command)) {
+            return e.blockingConnectionWriteOp();
+        }
+        if (isSharedConnection(command)) {
+            return e.sharedConnectionWriteOp();
+        }
         return e.connectionWriteOp();
     }
 
+    private boolean isBlockingConnection(RedisCommand<?> command) {
+        return config.getBlockingConnectionPoolSize() > 0 && command != null
+                && QueueCommand.TIMEOUTLESS_COMMANDS.contains(command.getName());
+    }
+
+    private boolean isSharedConnection(RedisCommand<?> command) {
+        return config.getSharedConnections() > 0 && command != null
+                && !QueueCommand.TIMEOUTLESS_COMMANDS.contains(command.getName())
+                // streamed reply may suspend channel reading
+                && !(command.getReplayMultiDecoder() instanceof StreamMultiDecoder);
+    }
+
     private MasterSlaveEntry getEntry(NodeSource source) {
         MasterSlaveEntry e = getEntry(source.getSlot());
         if (e == null) {
@@ -588,6 +709,9 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
         if (source.getAddr() != null) {
             return e.connectionReadOp(source.getAddr());
         }
+        if (isSharedConnection(command)) {
+            return e.sharedConnectionReadOp();
+        }
         return e.connectionReadOp();
     }
 
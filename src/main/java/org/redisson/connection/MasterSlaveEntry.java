@@ -17,11 +17,13 @@ package org.redisson.connection;
 
 import java.net.InetSocketAddress;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.redisson.MasterSlaveServersConfig;
 import org.redisson.ReadMode;
@@ -35,6 +37,7 @@ import org.redisson.cluster.ClusterSlotRange;
 import org.redisson.connection.ClientConnectionsEntry.FreezeReason;
 import org.redisson.connection.balancer.LoadBalancerManager;
 import org.redisson.connection.balancer.LoadBalancerManagerImpl;
+import org.redisson.connection.pool.BlockingConnectionPool;
 import org.redisson.connection.pool.MasterConnectionPool;
 import org.redisson.core.NodeType;
 import org.slf4j.Logger;
@@ -44,6 +47,7 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
 
 /**
  *
@@ -61,6 +65,7 @@ public class MasterSlaveEntry {
     final ConnectionManager connectionManager;
 
     final MasterConnectionPool writeConnectionHolder;
+    final MasterConnectionPool blockingConnectionHolder;
     final Set<ClusterSlotRange> slotRanges;
 
     final AtomicBoolean active = new AtomicBoolean(true);
@@ -72,6 +77,11 @@ public class MasterSlaveEntry {
 
         slaveBalancer = new LoadBalancerManagerImpl(config, connectionManager, this);
         writeConnectionHolder = new MasterConnectionPool(config, connectionManager, this);
+        if (config.getBlockingConnectionPoolSize() > 0) {
+            blockingConnectionHolder = new BlockingConnectionPool(config, connectionManager, this);
+        } else {
+            blockingConnectionHolder = null;
+        }
     }
 
     public List<Future<Void>> initSlaveBalancer(Collection<URI> disconnectedNodes) {
@@ -92,8 +102,44 @@ public class MasterSlaveEntry {
     public Future<Void> setupMasterEntry(String host, int port) {
         RedisClient client = connectionManager.createClient(NodeType.MASTER, host, port);
         masterEntry = new ClientConnectionsEntry(client, config.getMasterConnectionMinimumIdleSize(), config.getMasterConnectionPoolSize(),
-                                                    0, 0, connectionManager, NodeType.MASTER);
-        return writeConnectionHolder.add(masterEntry);
+                                                    0, 0, config.getBlockingConnectionMinimumIdleSize(), config.getBlockingConnectionPoolSize(),
+                                                    connectionManager, NodeType.MASTER);
+        connectionManager.getConnectionWatcher().setConnectionPool(masterEntry, writeConnectionHolder);
+        List<Future<Void>> futures = new ArrayList<Future<Void>>(2);
+        futures.add(writeConnectionHolder.add(masterEntry));
+        addBlockingEntry(futures);
+        return allOf(futures);
+    }
+
+    protected void addBlockingEntry(List<Future<Void>> futures) {
+        if (blockingConnectionHolder != null) {
+            futures.add(blockingConnectionHolder.add(masterEntry));
+        }
+    }
+
+    protected Future<Void> allOf(List<Future<Void>> futures) {
+        if (futures.size() == 1) {
+            return futures.get(0);
+        }
+
+        final Promise<Void> res = connectionManager.newPromise();
+        final AtomicInteger counter = new AtomicInteger(futures.size());
+        FutureListener<Void> listener = new FutureListener<Void>() {
+            @Override
+            public void operationComplete(Future<Void> future) throws Exception {
+                if (!future.isSuccess()) {
+                    res.tryFailure(future.cause());
+                    return;
+                }
+                if (counter.decrementAndGet() == 0) {
+                    res.trySuccess(null);
+                }
+            }
+        };
+        for (Future<Void> future : futures) {
+            future.addListener(listener);
+        }
+        return res;
     }
 
     private boolean slaveDown(ClientConnectionsEntry entry, FreezeReason freezeReason) {
@@ -242,7 +288,12 @@ public class MasterSlaveEntry {
             return;
         }
 
-        Future<RedisConnection> newConnection = connectionReadOp();
+        Future<RedisConnection> newConnection;
+        if (blockingConnectionHolder != null) {
+            newConnection = blockingConnectionWriteOp();
+        } else {
+            newConnection = connectionReadOp();
+        }
         newConnection.addListener(new FutureListener<RedisConnection>() {
             @Override
             public void operationComplete(Future<RedisConnection> future) throws Exception {
@@ -326,7 +377,11 @@ public class MasterSlaveEntry {
         ClientConnectionsEntry oldMaster = masterEntry;
         setupMasterEntry(host, port);
         writeConnectionHolder.remove(oldMaster);
+        if (blockingConnectionHolder != null) {
+            blockingConnectionHolder.remove(oldMaster);
+        }
         slaveDown(oldMaster, FreezeReason.MANAGER);
+        connectionManager.getConnectionWatcher().remove(oldMaster);
 
         // more than one slave available, so master can be removed from slaves
         if (config.getReadMode() == ReadMode.SLAVE
@@ -359,6 +414,7 @@ public class MasterSlaveEntry {
             return;
         }
 
+        connectionManager.getConnectionWatcher().remove(masterEntry);
         connectionManager.shutdownAsync(masterEntry.getClient());
         slaveBalancer.shutdownAsync();
     }
@@ -371,6 +427,21 @@ public class MasterSlaveEntry {
         return slaveBalancer.nextConnection();
     }
 
+    public Future<RedisConnection> blockingConnectionWriteOp() {
+        if (blockingConnectionHolder == null) {
+            return connectionWriteOp();
+        }
+        return blockingConnectionHolder.get();
+    }
+
+    public Future<RedisConnection> sharedConnectionWriteOp() {
+        return writeConnectionHolder.getShared();
+    }
+
+    public Future<RedisConnection> sharedConnectionReadOp() {
+        return slaveBalancer.nextSharedConnection();
+    }
+
     public Future<RedisConnection> connectionReadOp(InetSocketAddress addr) {
         return slaveBalancer.getConnection(addr);
     }
@@ -385,10 +456,18 @@ public class MasterSlaveEntry {
     }
 
     public void releaseWrite(RedisConnection connection) {
+        if (connection.isBlocking()) {
+            blockingConnectionHolder.returnConnection(masterEntry, connection);
+            return;
+        }
         writeConnectionHolder.returnConnection(masterEntry, connection);
     }
 
     public void releaseRead(RedisConnection сonnection) {
+        if (сonnection.isBlocking()) {
+            releaseWrite(сonnection);
+            return;
+        }
         slaveBalancer.returnConnection(сonnection);
     }
 
@@ -21,12 +21,30 @@ public class NodeSource {
 
     public static final NodeSource ZERO = new NodeSource(0);
 
+    private static final NodeSource[] SLOTS = new NodeSource[MasterSlaveConnectionManager.MAX_SLOT];
+
     public enum Redirect {MOVED, ASK}
 
     private final Integer slot;
     private final InetSocketAddress addr;
     private final Redirect redirect;
 
+    /**
+     * Returns cached source for slot without redirect and address.
+     * Instances are immutable so racy initialization is safe.
+     *
+     * @param slot
+     * @return source
+     */
+    public static NodeSource valueOf(int slot) {
+        NodeSource source = SLOTS[slot];
+        if (source == null) {
+            source = new NodeSource(slot);
+            SLOTS[slot] = source;
+        }
+        return source;
+    }
+
     public NodeSource(Integer slot) {
         this(slot, null, null);
     }
@@ -0,0 +1,74 @@
+/**
+ * Copyright 2014 Nikita Koksharov, Nickolay Borbit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.connection;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentMap;
+
+import io.netty.util.CharsetUtil;
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * SHA1 digests of Lua scripts used with <code>EVALSHA</code>.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class ScriptCache {
+
+    // guards against scripts built dynamically
+    private static final int MAX_SIZE = 1024;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final ConcurrentMap<String, String> shas = PlatformDependent.newConcurrentHashMap();
+
+    public String getSha(String script) {
+        String sha = shas.get(script);
+        if (sha == null) {
+            sha = calcSha(script);
+            if (shas.size() < MAX_SIZE) {
+                shas.putIfAbsent(script, sha);
+            }
+        }
+        return sha;
+    }
+
+    /**
+     * @return amount of cached digests
+     */
+    public int size() {
+        return shas.size();
+    }
+
+    static String calcSha(String script) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] bytes = digest.digest(script.getBytes(CharsetUtil.UTF_8));
+        char[] result = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            result[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            result[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(result);
+    }
+
+}
@@ -63,6 +63,22 @@ public class SingleConnectionManager extends MasterSlaveConnectionManager {
         newconfig.setPassword(cfg.getPassword());
         newconfig.setDatabase(cfg.getDatabase());
         newconfig.setClientName(cfg.getClientName());
+        newconfig.setPipelining(cfg.isPipelining());
+        newconfig.setSharedConnections(cfg.getSharedConnections());
+        newconfig.setMaxCommandsPerFlush(cfg.getMaxCommandsPerFlush());
+        newconfig.setMaxBytesPerFlush(cfg.getMaxBytesPerFlush());
+        newconfig.setLazyDecoding(cfg.isLazyDecoding());
+        newconfig.setUseScriptCache(cfg.isUseScriptCache());
+        newconfig.setAutoBatchWindow(cfg.getAutoBatchWindow());
+        newconfig.setAutoBatchSize(cfg.getAutoBatchSize());
+        newconfig.setBatchChunkSize(cfg.getBatchChunkSize());
+        newconfig.setEventLoopAffinity(cfg.isEventLoopAffinity());
+        newconfig.setAdaptivePoolInterval(cfg.getAdaptivePoolInterval());
+        newconfig.setLazyInit(cfg.isLazyInit());
+        newconfig.setConnectionWarmUpParallelism(cfg.getConnectionWarmUpParallelism());
+        newconfig.setHedgedReadPercentile(cfg.getHedgedReadPercentile());
+        newconfig.setHedgedReadMinDelay(cfg.getHedgedReadMinDelay());
+        newconfig.setStreamSuspendTimeout(cfg.getStreamSuspendTimeout());
         newconfig.setMasterAddress(addr);
         newconfig.setMasterConnectionPoolSize(cfg.getConnectionPoolSize());
         newconfig.setSubscriptionsPerConnection(cfg.getSubscriptionsPerConnection());
@@ -73,6 +89,8 @@ public class SingleConnectionManager extends MasterSlaveConnectionManager {
         newconfig.setReconnectionTimeout(cfg.getReconnectionTimeout());
 
         newconfig.setMasterConnectionMinimumIdleSize(cfg.getConnectionMinimumIdleSize());
+        newconfig.setBlockingConnectionPoolSize(cfg.getBlockingConnectionPoolSize());
+        newconfig.setBlockingConnectionMinimumIdleSize(cfg.getBlockingConnectionMinimumIdleSize());
         newconfig.setSlaveSubscriptionConnectionMinimumIdleSize(cfg.getSubscriptionConnectionMinimumIdleSize());
         newconfig.setReadMode(ReadMode.MASTER);
         return newconfig;
@@ -16,8 +16,9 @@
 package org.redisson.connection;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.redisson.MasterSlaveServersConfig;
 import org.redisson.client.RedisClient;
@@ -29,8 +30,6 @@ import org.redisson.connection.pool.SinglePubSubConnectionPool;
 import org.redisson.core.NodeType;
 
 import io.netty.util.concurrent.Future;
-import io.netty.util.concurrent.FutureListener;
-import io.netty.util.concurrent.Promise;
 
 public class SingleEntry extends MasterSlaveEntry {
 
@@ -48,26 +47,15 @@ public class SingleEntry extends MasterSlaveEntry {
                 config.getMasterConnectionMinimumIdleSize(),
                 config.getMasterConnectionPoolSize(),
                 config.getSlaveConnectionMinimumIdleSize(),
-                config.getSlaveSubscriptionConnectionPoolSize(), connectionManager, NodeType.MASTER);
-        final Promise<Void> res = connectionManager.newPromise();
-        Future<Void> f = writeConnectionHolder.add(masterEntry);
-        Future<Void> s = pubSubConnectionHolder.add(masterEntry);
-        FutureListener<Void> listener = new FutureListener<Void>() {
-            AtomicInteger counter = new AtomicInteger(2);
-            @Override
-            public void operationComplete(Future<Void> future) throws Exception {
-                if (!future.isSuccess()) {
-                    res.tryFailure(future.cause());
-                    return;
-                }
-                if (counter.decrementAndGet() == 0) {
-                    res.setSuccess(null);
-                }
-            }
-        };
-        f.addListener(listener);
-        s.addListener(listener);
-        return res;
+                config.getSlaveSubscriptionConnectionPoolSize(),
+                config.getBlockingConnectionMinimumIdleSize(),
+                config.getBlockingConnectionPoolSize(), connectionManager, NodeType.MASTER);
+        connectionManager.getConnectionWatcher().setConnectionPool(masterEntry, writeConnectionHolder);
+        List<Future<Void>> futures = new ArrayList<Future<Void>>(3);
+        futures.add(writeConnectionHolder.add(masterEntry));
+        futures.add(pubSubConnectionHolder.add(masterEntry));
+        addBlockingEntry(futures);
+        return allOf(futures);
     }
 
     @Override
@@ -90,6 +78,11 @@ public class SingleEntry extends MasterSlaveEntry {
         return super.connectionWriteOp();
     }
 
+    @Override
+    public Future<RedisConnection> sharedConnectionReadOp() {
+        return super.sharedConnectionWriteOp();
+    }
+
     @Override
     public void releaseRead(RedisConnection сonnection) {
         super.releaseWrite(сonnection);
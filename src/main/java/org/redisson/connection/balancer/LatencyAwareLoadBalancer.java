@@ -0,0 +1,70 @@
+/**
+ * Copyright 2014 Nikita Koksharov, Nickolay Borbit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.connection.balancer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.client.RedisClientStats;
+import org.redisson.connection.ClientConnectionsEntry;
+
+import io.netty.util.internal.ThreadLocalRandom;
+
+/**
+ * Power of two choices balancer. Two random nodes are compared
+ * and the one with lower load is selected. Load is estimated as
+ * smoothed response latency multiplied by amount of outstanding commands,
+ * so slow or overloaded node receives less traffic.
+ * Node latency decays while it receives no traffic, so recovered node is probed again.
+ * Latency is increased by a small floor, so outstanding commands are still counted
+ * for nodes without samples or with fully decayed latency.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class LatencyAwareLoadBalancer implements LoadBalancer {
+
+    private static final long LATENCY_FLOOR = TimeUnit.MICROSECONDS.toNanos(100);
+
+    @Override
+    public ClientConnectionsEntry getEntry(List<ClientConnectionsEntry> clientsCopy) {
+        int size = clientsCopy.size();
+        if (size == 1) {
+            return clientsCopy.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        ClientConnectionsEntry firstEntry = clientsCopy.get(first);
+        ClientConnectionsEntry secondEntry = clientsCopy.get(second);
+        if (getLoad(secondEntry) < getLoad(firstEntry)) {
+            return secondEntry;
+        }
+        return firstEntry;
+    }
+
+    private double getLoad(ClientConnectionsEntry entry) {
+        RedisClientStats stats = entry.getClient().getStats();
+        // node without samples is preferred until it gets enough outstanding commands
+        return (stats.getLatency() + LATENCY_FLOOR) * (stats.getOutstandingCommands() + 1);
+    }
+
+}
@@ -44,6 +44,8 @@ public interface LoadBalancerManager {
 
     Future<RedisConnection> nextConnection();
 
+    Future<RedisConnection> nextSharedConnection();
+
     Future<RedisPubSubConnection> nextPubSubConnection();
 
     void returnConnection(RedisConnection connection);
@@ -51,11 +51,16 @@ public class LoadBalancerManagerImpl implements LoadBalancerManager {
     }
 
     public Future<Void> add(final ClientConnectionsEntry entry) {
+        connectionManager.getConnectionWatcher().setConnectionPool(entry, entries);
         Future<Void> f = entries.add(entry);
         f.addListener(new FutureListener<Void>() {
             @Override
             public void operationComplete(Future<Void> future) throws Exception {
-                addr2Entry.put(entry.getClient().getAddr(), entry);
+                ClientConnectionsEntry oldEntry = addr2Entry.put(entry.getClient().getAddr(), entry);
+                if (oldEntry != null && oldEntry != entry) {
+                    // slave has been re-added after removal
+                    connectionManager.getConnectionWatcher().remove(oldEntry);
+                }
                 pubSubEntries.add(entry);
             }
         });
@@ -139,6 +144,10 @@ public class LoadBalancerManagerImpl implements LoadBalancerManager {
         return entries.get();
     }
 
+    public Future<RedisConnection> nextSharedConnection() {
+        return entries.getShared();
+    }
+
     public void returnPubSubConnection(RedisPubSubConnection connection) {
         ClientConnectionsEntry entry = addr2Entry.get(connection.getRedisClient().getAddr());
         pubSubEntries.returnConnection(entry, connection);
@@ -157,6 +166,7 @@ public class LoadBalancerManagerImpl implements LoadBalancerManager {
 
     public void shutdownAsync() {
         for (ClientConnectionsEntry entry : addr2Entry.values()) {
+            connectionManager.getConnectionWatcher().remove(entry);
             connectionManager.shutdownAsync(entry.getClient());
         }
     }
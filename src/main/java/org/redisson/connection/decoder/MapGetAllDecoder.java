@@ -17,12 +17,13 @@ package org.redisson.connection.decoder;
 
 import java.io.IOException;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.redisson.client.handler.State;
 import org.redisson.client.protocol.decoder.MultiDecoder;
+import org.redisson.misc.LazyValueMap;
 
 import io.netty.buffer.ByteBuf;
 
@@ -30,10 +31,21 @@ public class MapGetAllDecoder implements MultiDecoder<Map<Object, Object>> {
 
     private final int shiftIndex;
     private final List<Object> args;
+    private final boolean lazy;
 
     public MapGetAllDecoder(List<Object> args, int shiftIndex) {
+        this(args, shiftIndex, false);
+    }
+
+    /**
+     * @param args - command arguments
+     * @param shiftIndex - index of first key in arguments
+     * @param lazy - wrap result into {@link LazyValueMap} to decode {@link org.redisson.client.protocol.decoder.LazyValue} values on access
+     */
+    public MapGetAllDecoder(List<Object> args, int shiftIndex, boolean lazy) {
         this.args = args;
         this.shiftIndex = shiftIndex;
+        this.lazy = lazy;
     }
 
     @Override
@@ -51,7 +63,7 @@ public class MapGetAllDecoder implements MultiDecoder<Map<Object, Object>> {
         if (parts.isEmpty()) {
             return Collections.emptyMap();
         }
-        Map<Object, Object> result = new HashMap<Object, Object>(parts.size());
+        Map<Object, Object> result = new LinkedHashMap<Object, Object>(parts.size());
         for (int index = 0; index < args.size()-shiftIndex; index++) {
             Object value = parts.get(index);
             if (value == null) {
@@ -59,6 +71,9 @@ public class MapGetAllDecoder implements MultiDecoder<Map<Object, Object>> {
             }
             result.put(args.get(index+shiftIndex), value);
         }
+        if (lazy) {
+            return new LazyValueMap<Object, Object>(result);
+        }
         return result;
     }
 
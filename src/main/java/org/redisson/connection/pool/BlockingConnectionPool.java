@@ -0,0 +1,84 @@
+/**
+ * Copyright 2014 Nikita Koksharov, Nickolay Borbit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.connection.pool;
+
+import org.redisson.MasterSlaveServersConfig;
+import org.redisson.client.RedisConnection;
+import org.redisson.connection.ClientConnectionsEntry;
+import org.redisson.connection.ConnectionManager;
+import org.redisson.connection.MasterSlaveEntry;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+
+/**
+ * Master connection pool used only by blocking commands
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class BlockingConnectionPool extends MasterConnectionPool {
+
+    public BlockingConnectionPool(MasterSlaveServersConfig config,
+            ConnectionManager connectionManager, MasterSlaveEntry masterSlaveEntry) {
+        super(config, connectionManager, masterSlaveEntry);
+    }
+
+    @Override
+    protected RedisConnection poll(ClientConnectionsEntry entry) {
+        return entry.pollBlockingConnection();
+    }
+
+    @Override
+    protected int getMinimumIdleSize(ClientConnectionsEntry entry) {
+        return config.getBlockingConnectionMinimumIdleSize();
+    }
+
+    @Override
+    protected Future<RedisConnection> connect(ClientConnectionsEntry entry) {
+        Future<RedisConnection> future = super.connect(entry);
+        future.addListener(new FutureListener<RedisConnection>() {
+            @Override
+            public void operationComplete(Future<RedisConnection> future) throws Exception {
+                if (future.isSuccess()) {
+                    future.getNow().setBlocking(true);
+                }
+            }
+        });
+        return future;
+    }
+
+    @Override
+    protected boolean tryAcquireConnection(ClientConnectionsEntry entry) {
+        return entry.getFailedAttempts() < config.getFailedAttempts() && entry.tryAcquireBlockingConnection();
+    }
+
+    @Override
+    protected void releaseConnection(ClientConnectionsEntry entry) {
+        entry.releaseBlockingConnection();
+    }
+
+    @Override
+    protected void releaseConnection(ClientConnectionsEntry entry, RedisConnection conn) {
+        entry.releaseBlockingConnection(conn);
+    }
+
+    @Override
+    protected void acquireWaited(ClientConnectionsEntry entry, long time) {
+        // only command connections are sized adaptively
+    }
+
+}
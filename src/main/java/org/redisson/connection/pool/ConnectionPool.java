@@ -40,7 +40,7 @@ import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.FutureListener;
 import io.netty.util.concurrent.Promise;
 
-abstract class ConnectionPool<T extends RedisConnection> {
+public abstract class ConnectionPool<T extends RedisConnection> {
 
     private final Logger log = LoggerFactory.getLogger(getClass());
 
@@ -59,6 +59,22 @@ abstract class ConnectionPool<T extends RedisConnection> {
     }
 
     public Future<Void> add(final ClientConnectionsEntry entry) {
+        if (config.isLazyInit()) {
+            // entry is usable at once, connections are created on demand till warm up completes
+            entries.add(entry);
+            Promise<Void> warmUpPromise = connectionManager.newPromise();
+            warmUpPromise.addListener(new FutureListener<Void>() {
+                @Override
+                public void operationComplete(Future<Void> future) throws Exception {
+                    if (!future.isSuccess()) {
+                        log.warn("Connection pool warm up failed for " + entry.getClient().getAddr(), future.cause());
+                    }
+                }
+            });
+            initConnections(entry, warmUpPromise, true);
+            return connectionManager.newSucceededFuture(null);
+        }
+
         final Promise<Void> promise = connectionManager.newPromise();
         promise.addListener(new FutureListener<Void>() {
             @Override
@@ -79,7 +95,7 @@ abstract class ConnectionPool<T extends RedisConnection> {
         }
 
         final AtomicInteger initializedConnections = new AtomicInteger(minimumIdleSize);
-        int startAmount = Math.min(50, minimumIdleSize);
+        int startAmount = Math.min(Math.max(1, config.getConnectionWarmUpParallelism()), minimumIdleSize);
         final AtomicInteger requests = new AtomicInteger(startAmount);
         for (int i = 0; i < startAmount; i++) {
             createConnection(checkFreezed, requests, entry, initPromise, minimumIdleSize, initializedConnections);
@@ -170,6 +186,70 @@ abstract class ConnectionPool<T extends RedisConnection> {
         return connectionManager.newFailedFuture(exception);
     }
 
+    /**
+     * Returns one of long-lived connections shared by all commands
+     * sent to the server. It shouldn't be returned to pool.
+     *
+     */
+    public Future<T> getShared() {
+        for (int j = entries.size() - 1; j >= 0; j--) {
+            ClientConnectionsEntry entry = getEntry();
+            if (!entry.isFreezed() && entry.getSharedConnectionsAmount() > 0
+                    && entry.getFailedAttempts() < config.getFailedAttempts()) {
+                return connectShared(entry);
+            }
+        }
+
+        return get();
+    }
+
+    private Future<T> connectShared(final ClientConnectionsEntry entry) {
+        int index = sharedConnectionIndex(entry);
+        Future<RedisConnection> current = entry.getSharedConnection(index);
+        if (current != null
+                && (!current.isDone() || (current.isSuccess() && !current.getNow().isClosed()))) {
+            return (Future<T>) current;
+        }
+
+        final Promise<T> promise = connectionManager.newPromise();
+        if (!entry.replaceSharedConnection(index, current, (Future<RedisConnection>) promise)) {
+            return (Future<T>) entry.getSharedConnection(index);
+        }
+
+        Future<T> connFuture = connect(entry);
+        connFuture.addListener(new FutureListener<T>() {
+            @Override
+            public void operationComplete(Future<T> future) throws Exception {
+                if (!future.isSuccess()) {
+                    promiseFailure(entry, promise, future.cause());
+                    return;
+                }
+
+                T conn = future.getNow();
+                conn.setShared(true);
+                entry.resetFailedAttempts();
+                promise.trySuccess(conn);
+            }
+        });
+        return promise;
+    }
+
+    /**
+     * Callers running on event loop use the shared connection
+     * bound to the same event loop. Other callers are spread in round-robin manner.
+     *
+     */
+    private int sharedConnectionIndex(ClientConnectionsEntry entry) {
+        for (int i = 0; i < entry.getSharedConnectionsAmount(); i++) {
+            Future<RedisConnection> future = entry.getSharedConnection(i);
+            if (future != null && future.isSuccess()
+                    && future.getNow().getChannel().eventLoop().inEventLoop()) {
+                return i;
+            }
+        }
+        return entry.nextSharedConnectionIndex();
+    }
+
     public Future<T> get(ClientConnectionsEntry entry) {
         if (((entry.getNodeType() == NodeType.MASTER && entry.getFreezeReason() == FreezeReason.SYSTEM) || !entry.isFreezed())
                 && tryAcquireConnection(entry)) {
@@ -193,7 +273,7 @@ abstract class ConnectionPool<T extends RedisConnection> {
         return (Future<T>) entry.connect();
     }
 
-    private Future<T> connectTo(ClientConnectionsEntry entry) {
+    private Future<T> connectTo(final ClientConnectionsEntry entry) {
         T conn = poll(entry);
         if (conn != null) {
             if (!conn.isActive()) {
@@ -203,7 +283,54 @@ abstract class ConnectionPool<T extends RedisConnection> {
             return promiseSuccessful(entry, conn);
         }
 
-        return createConnection(entry);
+        final long startTime = System.nanoTime();
+        Future<T> future = createConnection(entry);
+        future.addListener(new FutureListener<T>() {
+            @Override
+            public void operationComplete(Future<T> future) throws Exception {
+                acquireWaited(entry, System.nanoTime() - startTime);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Creates connection ahead of demand and adds it to idle connections.
+     * Connection failures are counted the same way as on connection acquire.
+     *
+     * @param entry
+     * @return <code>false</code> if there is no free connection slot
+     */
+    public boolean addIdleConnection(final ClientConnectionsEntry entry) {
+        if (!tryAcquireConnection(entry)) {
+            return false;
+        }
+
+        Future<T> future = createConnection(entry);
+        future.addListener(new FutureListener<T>() {
+            @Override
+            public void operationComplete(Future<T> future) throws Exception {
+                if (!future.isSuccess()) {
+                    // slot has been released by createConnection
+                    log.debug("Can't create connection ahead of demand for " + entry.getClient().getAddr(), future.cause());
+                    return;
+                }
+
+                releaseConnection(entry, future.getNow());
+                releaseConnection(entry);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Invoked when connection acquire had to wait for a new connection
+     *
+     * @param entry
+     * @param time - in nanoseconds
+     */
+    protected void acquireWaited(ClientConnectionsEntry entry, long time) {
+        entry.addAcquireWait(time);
     }
 
     private Future<T> createConnection(final ClientConnectionsEntry entry) {
@@ -391,6 +518,9 @@ abstract class ConnectionPool<T extends RedisConnection> {
     }
 
     public void returnConnection(ClientConnectionsEntry entry, T connection) {
+        if (connection.isShared()) {
+            return;
+        }
         if (entry.isFreezed()) {
             connection.closeAsync();
         } else {
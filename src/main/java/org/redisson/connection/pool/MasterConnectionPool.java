@@ -35,6 +35,7 @@ public class MasterConnectionPool extends ConnectionPool<RedisConnection> {
 
     public void remove(ClientConnectionsEntry entry) {
         entries.remove(entry);
+        entry.closeSharedConnections();
     }
 
     @Override
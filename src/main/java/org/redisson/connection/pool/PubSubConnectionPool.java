@@ -59,4 +59,9 @@ public class PubSubConnectionPool extends ConnectionPool<RedisPubSubConnection>
         entry.releaseSubscribeConnection(conn);
     }
 
+    @Override
+    protected void acquireWaited(ClientConnectionsEntry entry, long time) {
+        // only command connections are sized adaptively
+    }
+
 }
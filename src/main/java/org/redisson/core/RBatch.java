@@ -363,4 +363,48 @@ public interface RBatch {
      */
     Future<List<?>> executeAsync();
 
+    /**
+     * Executes all operations accumulated during async methods invocations atomically.
+     *
+     * Operations of each Redis node are wrapped into <code>MULTI</code> and <code>EXEC</code>
+     * within the same pipelined write. If cluster configuration used then
+     * atomicity is guaranteed only for operations executed on the same node.
+     * <p/>
+     * Transaction is atomic only, it doesn't provide optimistic locking.
+     * Values read before batch creation could be modified by other clients
+     * before the transaction is executed.
+     *
+     * @return List with result object for each command
+     * @throws RedisException in case of any error
+     */
+    List<?> executeAtomic() throws RedisException;
+
+    /**
+     * Executes all operations accumulated during async methods invocations atomically and asynchronously.
+     *
+     * @see #executeAtomic()
+     *
+     * @return List with result object for each command
+     */
+    Future<List<?>> executeAtomicAsync();
+
+    /**
+     * Executes all operations accumulated during async methods invocations.
+     * Command replies are skipped without decoding, so futures of
+     * batched operations are completed with <code>null</code>.
+     * Use it for write-only batches to reduce CPU and memory usage.
+     *
+     * @throws RedisException in case of any error
+     */
+    void executeSkipResult() throws RedisException;
+
+    /**
+     * Executes all operations accumulated during async methods invocations asynchronously.
+     * Command replies are skipped without decoding, so futures of
+     * batched operations are completed with <code>null</code>.
+     *
+     * @return void
+     */
+    Future<Void> executeSkipResultAsync();
+
 }
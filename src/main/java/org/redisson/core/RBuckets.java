@@ -39,6 +39,9 @@ public interface RBuckets {
     /**
      * Returns Redis object mapped by key. Result Map is not contains
      * key-value entry for null values.
+     * <p/>
+     * In cluster mode keys are grouped by slot and
+     * <code>MGET</code> commands are pipelined per node.
      *
      * @param keys
      * @return
@@ -49,6 +52,14 @@ public interface RBuckets {
      * Try to save objects mapped by Redis key.
      * If at least one of them is already exist then 
      * don't set none of them.
+     * <p/>
+     * In cluster mode <code>MSETNX</code> is executed per slot and keys
+     * of slots which have been set are deleted if any other slot
+     * contains existing key. Only keys which still hold values written
+     * by this method are deleted. This operation is not atomic across slots:
+     * other clients may see keys of some slots before they are deleted,
+     * and a key which has been deleted and set again to the same value
+     * meanwhile is deleted as well.
      *
      * @param buckets
      */
@@ -56,6 +67,9 @@ public interface RBuckets {
 
     /**
      * Saves objects mapped by Redis key.
+     * <p/>
+     * In cluster mode <code>MSET</code> is executed per slot,
+     * so operation is atomic per slot only.
      *
      * @param buckets
      */
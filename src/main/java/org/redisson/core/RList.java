@@ -15,6 +15,7 @@
  */
 package org.redisson.core;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.RandomAccess;
 
@@ -64,6 +65,18 @@ public interface RList<V> extends List<V>, RExpirable, RListAsync<V>, RandomAcce
      */
     List<V> readAll();
 
+    /**
+     * Read all elements as stream. Elements are available for iteration
+     * as soon as they have been received, so whole reply isn't kept in memory.
+     * Connection reading is suspended while <code>bufferSize</code> elements
+     * are waiting for consumption, so iterator should be read till the end
+     * or closed. Returned iterator implements {@link java.io.Closeable}.
+     *
+     * @param bufferSize - max amount of buffered elements
+     * @return iterator
+     */
+    Iterator<V> readAllIterator(int bufferSize);
+
     /**
      * Trim list and remains elements only in specified range
      * <tt>fromIndex</tt>, inclusive, and <tt>toIndex</tt>, inclusive.
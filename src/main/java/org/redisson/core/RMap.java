@@ -141,6 +141,18 @@ public interface RMap<K, V> extends ConcurrentMap<K, V>, RExpirable, RMapAsync<K
      */
     Set<Entry<K, V>> readAllEntrySet();
 
+    /**
+     * Read all map entries as stream. Entries are available for iteration
+     * as soon as they have been received, so whole reply isn't kept in memory.
+     * Connection reading is suspended while <code>bufferSize</code> entries
+     * are waiting for consumption, so iterator should be read till the end
+     * or closed. Returned iterator implements {@link java.io.Closeable}.
+     *
+     * @param bufferSize - max amount of buffered entries
+     * @return iterator
+     */
+    Iterator<Entry<K, V>> readAllEntrySetIterator(int bufferSize);
+
     /**
      * Use {@link #entrySet().iterator()}
      *
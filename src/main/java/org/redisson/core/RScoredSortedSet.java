@@ -16,6 +16,7 @@
 package org.redisson.core;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 
 import org.redisson.client.protocol.ScoredEntry;
@@ -98,6 +99,20 @@ public interface RScoredSortedSet<V> extends RScoredSortedSetAsync<V>, Iterable<
 
     Collection<V> valueRange(int startIndex, int endIndex);
 
+    /**
+     * Read all values in range as stream. Values are available for iteration
+     * as soon as they have been received, so whole reply isn't kept in memory.
+     * Connection reading is suspended while <code>bufferSize</code> values
+     * are waiting for consumption, so iterator should be read till the end
+     * or closed. Returned iterator implements {@link java.io.Closeable}.
+     *
+     * @param startIndex - start index
+     * @param endIndex - end index
+     * @param bufferSize - max amount of buffered values
+     * @return iterator
+     */
+    Iterator<V> valueRangeIterator(int startIndex, int endIndex, int bufferSize);
+
     Collection<ScoredEntry<V>> entryRange(int startIndex, int endIndex);
 
     Collection<V> valueRange(double startScore, boolean startScoreInclusive, double endScore, boolean endScoreInclusive);
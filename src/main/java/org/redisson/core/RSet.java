@@ -15,6 +15,7 @@
  */
 package org.redisson.core;
 
+import java.util.Iterator;
 import java.util.Set;
 
 /**
@@ -50,6 +51,18 @@ public interface RSet<V> extends Set<V>, RExpirable, RSetAsync<V> {
      */
     Set<V> readAll();
 
+    /**
+     * Read all elements as stream. Elements are available for iteration
+     * as soon as they have been received, so whole reply isn't kept in memory.
+     * Connection reading is suspended while <code>bufferSize</code> elements
+     * are waiting for consumption, so iterator should be read till the end
+     * or closed. Returned iterator implements {@link java.io.Closeable}.
+     *
+     * @param bufferSize - max amount of buffered elements
+     * @return iterator
+     */
+    Iterator<V> readAllIterator(int bufferSize);
+
     /**
      * Union sets specified by name and write to current set.
      * If current set already exists, it is overwritten.
@@ -201,4 +201,14 @@ public class RedissonBatchReactive implements RBatchReactive {
         return new NettyFuturePublisher<List<?>>(executorService.executeAsync());
     }
 
+    @Override
+    public Publisher<List<?>> executeAtomic() {
+        return new NettyFuturePublisher<List<?>>(executorService.executeAtomicAsync());
+    }
+
+    @Override
+    public Publisher<Void> executeSkipResult() {
+        return new NettyFuturePublisher<Void>(executorService.executeSkipResultAsync());
+    }
+
 }
@@ -28,7 +28,6 @@ import org.redisson.api.RKeysReactive;
 import org.redisson.client.codec.StringCodec;
 import org.redisson.client.protocol.RedisCommands;
 import org.redisson.client.protocol.decoder.ListScanResult;
-import org.redisson.cluster.ClusterSlotRange;
 import org.redisson.command.CommandReactiveService;
 
 import reactor.rx.Stream;
@@ -55,8 +54,8 @@ public class RedissonKeysReactive implements RKeysReactive {
     @Override
     public Publisher<String> getKeysByPattern(final String pattern) {
         List<Publisher<String>> publishers = new ArrayList<Publisher<String>>();
-        for (ClusterSlotRange slot : commandExecutor.getConnectionManager().getEntries().keySet()) {
-            publishers.add(createKeysIterator(slot.getStartSlot(), pattern));
+        for (Integer slot : commandExecutor.getConnectionManager().getNodeSlots()) {
+            publishers.add(createKeysIterator(slot, pattern));
         }
         return Streams.merge(publishers);
     }
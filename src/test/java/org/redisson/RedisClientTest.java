@@ -24,6 +24,8 @@ import org.redisson.client.protocol.CommandsData;
 import org.redisson.client.protocol.RedisCommands;
 import org.redisson.client.protocol.pubsub.PubSubType;
 
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.FutureListener;
 import io.netty.util.concurrent.Promise;
@@ -126,6 +128,58 @@ public class RedisClientTest {
         conn.sync(RedisCommands.FLUSHDB);
     }
 
+    @Test
+    public void testPipelining() throws InterruptedException, ExecutionException {
+        RedisClient c = new RedisClient(new NioEventLoopGroup(), NioSocketChannel.class, "localhost", 6379, 60 * 1000, true);
+        final RedisConnection conn = c.connect();
+
+        conn.sync(StringCodec.INSTANCE, RedisCommands.SET, "test", 0);
+        ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        for (int i = 0; i < 100000; i++) {
+            pool.execute(() -> {
+                conn.async(StringCodec.INSTANCE, RedisCommands.INCR, "test");
+            });
+        }
+
+        pool.shutdown();
+
+        assertThat(pool.awaitTermination(1, TimeUnit.HOURS)).isTrue();
+
+        List<CommandData<?, ?>> commands = new ArrayList<CommandData<?, ?>>();
+        CommandData<Long, Long> cmd1 = conn.create(null, RedisCommands.INCR, "test");
+        commands.add(cmd1);
+        CommandData<String, String> cmd2 = conn.create(null, RedisCommands.PING);
+        commands.add(cmd2);
+        Promise<Void> p = c.getBootstrap().group().next().newPromise();
+        conn.send(new CommandsData(p, commands));
+        Future<Long> res = conn.async(LongCodec.INSTANCE, RedisCommands.INCR, "test");
+
+        assertThat(cmd1.getPromise().get()).isEqualTo(100001);
+        assertThat(cmd2.getPromise().get()).isEqualTo("PONG");
+        assertThat(res.get()).isEqualTo(100002);
+
+        conn.sync(RedisCommands.FLUSHDB);
+        c.shutdown();
+    }
+
+    @Test
+    public void testFlushCoalescing() throws InterruptedException, ExecutionException {
+        RedisClient c = new RedisClient(new NioEventLoopGroup(), NioSocketChannel.class, "localhost", 6379, 60 * 1000, true, 16, 1024);
+        RedisConnection conn = c.connect();
+
+        List<Future<Long>> futures = new ArrayList<Future<Long>>();
+        for (int i = 0; i < 1000; i++) {
+            futures.add(conn.<Long, Long>async(LongCodec.INSTANCE, RedisCommands.INCR, "test"));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertThat(futures.get(i).get()).isEqualTo(i + 1);
+        }
+
+        conn.sync(RedisCommands.FLUSHDB);
+        c.shutdown();
+    }
+
     @Test
     public void testPipeline() throws InterruptedException, ExecutionException {
         RedisClient c = new RedisClient("localhost", 6379);
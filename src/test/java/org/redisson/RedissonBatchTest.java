@@ -1,5 +1,7 @@
 package org.redisson;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -11,6 +13,7 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.redisson.RedisRunner.RedisProcess;
 import org.redisson.client.RedisException;
 import org.redisson.client.codec.StringCodec;
 import org.redisson.core.RBatch;
@@ -64,6 +67,151 @@ public class RedissonBatchTest extends BaseTest {
         Assert.assertEquals("3", val2.getNow());
     }
 
+    @Test
+    public void testAutoBatch() {
+        Config config = createConfig();
+        config.useSingleServer().setAutoBatchWindow(500).setAutoBatchSize(50);
+        RedissonClient r = Redisson.create(config);
+
+        List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+        for (int i = 0; i < 120; i++) {
+            futures.add(r.getMap("map").fastPutAsync(i, i));
+        }
+        for (Future<Boolean> future : futures) {
+            Assert.assertTrue(future.awaitUninterruptibly().getNow());
+        }
+        Assert.assertEquals(120, r.getMap("map").size());
+        Assert.assertEquals(5, r.getMap("map").get(5));
+        r.shutdown();
+    }
+
+    @Test
+    public void testAutoBatchReadMode() throws IOException, InterruptedException {
+        // standalone server is used as slave, so reads routed to it see own data
+        RedisProcess slave = new RedisRunner()
+                .nosave()
+                .randomDir()
+                .port(6320)
+                .run();
+        Config slaveConfig = new Config();
+        slaveConfig.useSingleServer().setAddress("127.0.0.1:6320");
+        RedissonClient slaveClient = Redisson.create(slaveConfig);
+        slaveClient.getBucket("readMode").set("slave");
+        redisson.getBucket("readMode").set("master");
+
+        Config config = new Config();
+        config.useMasterSlaveServers()
+            .setMasterAddress("127.0.0.1:6379")
+            .addSlaveAddress("127.0.0.1:6320")
+            .setReadMode(ReadMode.SLAVE)
+            .setAutoBatchWindow(100000);
+        RedissonClient r = Redisson.create(config);
+        try {
+            Future<Void> write = r.getBucket("readModeWrite").setAsync("1");
+            Future<Object> read = r.getBucket("readMode").getAsync();
+            write.syncUninterruptibly();
+            read.syncUninterruptibly();
+
+            Assert.assertEquals("slave", read.getNow());
+            Assert.assertEquals("1", redisson.getBucket("readModeWrite").get());
+            Assert.assertNull(slaveClient.getBucket("readModeWrite").get());
+        } finally {
+            r.shutdown();
+            slaveClient.shutdown();
+            slave.stop();
+            redisson.getKeys().delete("readMode", "readModeWrite");
+        }
+    }
+
+    @Test
+    public void testAutoBatchErrorIsolation() {
+        Config config = createConfig();
+        config.useSingleServer().setAutoBatchWindow(100000);
+        RedissonClient r = Redisson.create(config);
+        r.getBucket("errorIsolation", StringCodec.INSTANCE).set("abc");
+
+        // commands of different callers are sent in the same batch
+        Future<Long> incr = r.getAtomicLong("errorIsolation").incrementAndGetAsync();
+        Future<Boolean> put = r.getMap("errorIsolationMap").fastPutAsync(1, 1);
+        Future<Object> get = r.getBucket("errorIsolation", StringCodec.INSTANCE).getAsync();
+
+        Assert.assertTrue(incr.awaitUninterruptibly().cause() instanceof RedisException);
+        Assert.assertTrue(put.syncUninterruptibly().getNow());
+        Assert.assertEquals("abc", get.syncUninterruptibly().getNow());
+        Assert.assertEquals(1, r.getMap("errorIsolationMap").get(1));
+
+        r.getKeys().delete("errorIsolation", "errorIsolationMap");
+        r.shutdown();
+    }
+
+    @Test
+    public void testBatchChunks() {
+        Config config = createConfig();
+        config.useSingleServer().setBatchChunkSize(100);
+        RedissonClient r = Redisson.create(config);
+
+        RBatch b = r.createBatch();
+        RListAsync<Integer> listAsync = b.getList("list");
+        for (int i = 1; i < 540; i++) {
+            listAsync.addAsync(i);
+        }
+        Future<Integer> size = listAsync.sizeAsync();
+        List<?> res = b.execute();
+        Assert.assertEquals(540, res.size());
+        Assert.assertEquals(539, (int) size.getNow());
+        r.shutdown();
+    }
+
+    @Test
+    public void testBatchChunksSkipResult() {
+        Config config = createConfig();
+        config.useSingleServer().setBatchChunkSize(100);
+        RedissonClient r = Redisson.create(config);
+
+        RBatch b = r.createBatch();
+        RListAsync<Integer> listAsync = b.getList("list");
+        for (int i = 1; i < 540; i++) {
+            listAsync.addAsync(i);
+        }
+        b.executeSkipResult();
+        Assert.assertEquals(539, r.getList("list").size());
+        Assert.assertEquals(539, r.getList("list").get(538));
+        r.shutdown();
+    }
+
+    @Test
+    public void testAtomic() {
+        RBatch b = redisson.createBatch();
+        b.getBucket("bucket").setAsync("1");
+        Future<Object> val = b.getBucket("bucket").getAsync();
+        b.getList("list").addAsync(1);
+        b.getList("list").addAsync(2);
+        List<?> res = b.executeAtomic();
+        Assert.assertEquals(4, res.size());
+        Assert.assertEquals("1", val.getNow());
+        Assert.assertEquals(2, redisson.getList("list").size());
+    }
+
+    @Test
+    public void testSkipResult() {
+        RBatch b = redisson.createBatch();
+        RListAsync<Integer> listAsync = b.getList("list");
+        for (int i = 1; i < 540; i++) {
+            listAsync.addAsync(i);
+        }
+        b.executeSkipResult();
+        Assert.assertEquals(539, redisson.getList("list").size());
+    }
+
+    @Test(expected = RedisException.class)
+    public void testSkipResultError() {
+        redisson.getMap("map").put("1", "2");
+        RBatch b = redisson.createBatch();
+        b.getBucket("bucket").setAsync("1");
+        b.getList("map").addAsync(1);
+        b.executeSkipResult();
+    }
+
     @Test
     public void testBatchList() {
         RBatch b = redisson.createBatch();
@@ -18,7 +18,11 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Assert;
 import org.junit.Test;
 import org.redisson.RedisRunner.RedisProcess;
+import org.redisson.command.CommandSyncService;
+import org.redisson.connection.ConnectionManager;
+import org.redisson.connection.SingleConnectionManager;
 import org.redisson.core.RBlockingQueue;
+import org.redisson.core.RBucket;
 
 import io.netty.util.concurrent.Future;
 
@@ -171,6 +175,31 @@ public class RedissonBlockingQueueTest extends BaseTest {
         runner.stop();
     }
     
+    @Test
+    public void testBlockingConnectionPool() throws InterruptedException {
+        Config config = createConfig();
+        config.useSingleServer().setConnectionMinimumIdleSize(1).setConnectionPoolSize(1)
+                .setBlockingConnectionPoolSize(2);
+
+        RedissonClient redisson = Redisson.create(config);
+        RBlockingQueue<Integer> queue1 = redisson.getBlockingQueue("testBlockingConnectionPool");
+        Future<Integer> f1 = queue1.takeAsync();
+        Future<Integer> f2 = queue1.takeAsync();
+
+        // blocking commands don't occupy connection of regular commands
+        RBucket<Integer> bucket = redisson.getBucket("testBlockingConnectionPoolBucket");
+        bucket.set(1);
+        assertThat(bucket.get()).isEqualTo(1);
+
+        queue1.add(1);
+        queue1.add(2);
+        assertThat(f1.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(f2.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(f1.getNow() + f2.getNow()).isEqualTo(3);
+
+        redisson.shutdown();
+    }
+
     @Test
     public void testTakeAsyncCancel() {
         Config config = createConfig();
@@ -421,6 +450,29 @@ public class RedissonBlockingQueueTest extends BaseTest {
         Assert.assertEquals(0, queue1.size());
     }
 
+    @Test
+    public void testDrainToScriptCache() {
+        Config config = createConfig();
+        ConnectionManager connectionManager = new SingleConnectionManager(config.getSingleServerConfig(), config);
+        try {
+            RBlockingQueue<Integer> queue = new RedissonBlockingQueue<Integer>(new CommandSyncService(connectionManager), "queue");
+            queue.add(1);
+            queue.drainTo(new ArrayList<Integer>());
+            int size = connectionManager.getScriptCache().size();
+
+            for (int i = 0; i < 100; i++) {
+                queue.add(i);
+                ArrayList<Integer> dst = new ArrayList<Integer>();
+                queue.drainTo(dst);
+                assertThat(dst).containsExactly(i);
+            }
+            // decoder is created per call, but script is the same
+            assertThat(connectionManager.getScriptCache().size()).isEqualTo(size);
+        } finally {
+            connectionManager.shutdown();
+        }
+    }
+
     @Test
     public void testDrainToCollectionLimited() throws Exception {
         RBlockingQueue<Object> queue1 = redisson.getBlockingQueue("queue1");
@@ -3,6 +3,7 @@ package org.redisson;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -10,10 +11,110 @@ import static org.assertj.core.api.Assertions.*;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.redisson.command.CommandSyncService;
+import org.redisson.connection.ConnectionManager;
+import org.redisson.connection.SingleConnectionManager;
 import org.redisson.core.RBucket;
+import org.redisson.core.RBuckets;
 
 public class RedissonBucketsTest extends BaseTest {
 
+    /**
+     * Single server manager which maps each key to the slot
+     * equal to its first digit, so multi-slot path is used.
+     */
+    private ConnectionManager createSlotManager() {
+        Config config = createConfig();
+        return new SingleConnectionManager(config.getSingleServerConfig(), config) {
+            @Override
+            public int calcSlot(String key) {
+                return Character.digit(key.charAt(0), 10);
+            }
+        };
+    }
+
+    private RBuckets createSlotBuckets(ConnectionManager connectionManager) {
+        return new RedissonBuckets((Redisson) redisson, new CommandSyncService(connectionManager));
+    }
+
+    @Test
+    public void testGetMultiSlot() {
+        ConnectionManager connectionManager = createSlotManager();
+        try {
+            redisson.getBucket("12").set(1);
+            redisson.getBucket("41").set(2);
+            redisson.getBucket("13").set(3);
+            redisson.getBucket("61").set(4);
+
+            Map<String, Integer> result = createSlotBuckets(connectionManager).get("61", "12", "50", "41", "13");
+            assertThat(result.keySet()).containsExactly("61", "12", "41", "13");
+            assertThat(result.values()).containsExactly(4, 1, 2, 3);
+        } finally {
+            connectionManager.shutdown();
+        }
+    }
+
+    @Test
+    public void testSetMultiSlot() {
+        ConnectionManager connectionManager = createSlotManager();
+        try {
+            Map<String, Integer> buckets = new LinkedHashMap<String, Integer>();
+            buckets.put("12", 1);
+            buckets.put("41", 2);
+            buckets.put("13", 3);
+            createSlotBuckets(connectionManager).set(buckets);
+
+            assertThat(redisson.getBucket("12").get()).isEqualTo(1);
+            assertThat(redisson.getBucket("41").get()).isEqualTo(2);
+            assertThat(redisson.getBucket("13").get()).isEqualTo(3);
+        } finally {
+            connectionManager.shutdown();
+        }
+    }
+
+    @Test
+    public void testTrySetMultiSlot() {
+        ConnectionManager connectionManager = createSlotManager();
+        try {
+            RBuckets slotBuckets = createSlotBuckets(connectionManager);
+            Map<String, Integer> buckets = new LinkedHashMap<String, Integer>();
+            buckets.put("12", 1);
+            buckets.put("41", 2);
+            buckets.put("13", 3);
+            assertThat(slotBuckets.trySet(buckets)).isTrue();
+
+            assertThat(redisson.getBucket("12").get()).isEqualTo(1);
+            assertThat(redisson.getBucket("41").get()).isEqualTo(2);
+            assertThat(redisson.getBucket("13").get()).isEqualTo(3);
+        } finally {
+            connectionManager.shutdown();
+        }
+    }
+
+    @Test
+    public void testTrySetMultiSlotRollback() {
+        ConnectionManager connectionManager = createSlotManager();
+        try {
+            redisson.getBucket("41").set("341");
+
+            Map<String, Integer> buckets = new LinkedHashMap<String, Integer>();
+            buckets.put("12", 1);
+            buckets.put("13", 2);
+            buckets.put("41", 3);
+            buckets.put("61", 4);
+            assertThat(createSlotBuckets(connectionManager).trySet(buckets)).isFalse();
+
+            // keys of slots which have been set are deleted
+            assertThat(redisson.getBucket("12").get()).isNull();
+            assertThat(redisson.getBucket("13").get()).isNull();
+            assertThat(redisson.getBucket("61").get()).isNull();
+            // existing key is left untouched
+            assertThat(redisson.getBucket("41").get()).isEqualTo("341");
+        } finally {
+            connectionManager.shutdown();
+        }
+    }
+
     @Test
     public void testGet() {
         RBucket<String> bucket1 = redisson.getBucket("test1");
@@ -28,6 +129,25 @@ public class RedissonBucketsTest extends BaseTest {
 
         Assert.assertEquals(expected, result);
     }
+
+    @Test
+    public void testGetLazyDecoding() {
+        Config config = createConfig();
+        config.useSingleServer().setLazyDecoding(true);
+        RedissonClient r = Redisson.create(config);
+
+        r.getBucket("test1").set("someValue1");
+        r.getBucket("test3").set("someValue3");
+
+        Map<String, String> result = r.getBuckets().get("test1", "test2", "test3", "test4");
+        Map<String, String> expected = new HashMap<String, String>();
+        expected.put("test1", "someValue1");
+        expected.put("test3", "someValue3");
+
+        Assert.assertEquals(expected, result);
+        Assert.assertEquals("someValue3", result.get("test3"));
+        r.shutdown();
+    }
     
     @Test
     public void testFind() {
@@ -2,6 +2,8 @@ package org.redisson;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -13,6 +15,7 @@ import java.util.ListIterator;
 import org.junit.Assert;
 import org.junit.Test;
 import org.redisson.client.RedisException;
+import org.redisson.client.RedisTimeoutException;
 import org.redisson.core.RList;
 
 public class RedissonListTest extends BaseTest {
@@ -861,6 +864,92 @@ public class RedissonListTest extends BaseTest {
         Assert.assertTrue(list.isEmpty());
     }
 
+    @Test
+    public void testReadAllIterator() {
+        RList<Integer> list = redisson.getList("list");
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+
+        List<Integer> result = new ArrayList<Integer>();
+        Iterator<Integer> iterator = list.readAllIterator(10);
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        assertThat(result).isEqualTo(list.readAll());
+    }
+
+    private RedissonClient createSingleConnectionInstance(int streamSuspendTimeout) {
+        Config config = createConfig();
+        config.useSingleServer()
+            .setConnectionPoolSize(1)
+            .setConnectionMinimumIdleSize(1)
+            .setTimeout(500)
+            .setStreamSuspendTimeout(streamSuspendTimeout);
+        return Redisson.create(config);
+    }
+
+    private void fillLargeList(RList<Integer> list) {
+        // reply should exceed socket buffers to keep reading suspended
+        for (int i = 0; i < 100; i++) {
+            List<Integer> values = new ArrayList<Integer>();
+            for (int j = 0; j < 1000; j++) {
+                values.add(i*1000 + j);
+            }
+            list.addAll(values);
+        }
+    }
+
+    @Test
+    public void testReadAllIteratorClose() throws IOException {
+        RedissonClient r = createSingleConnectionInstance(60000);
+        try {
+            RList<Integer> list = r.getList("list");
+            fillLargeList(list);
+
+            Iterator<Integer> iterator = list.readAllIterator(10);
+            for (int i = 0; i < 5; i++) {
+                assertThat(iterator.next()).isEqualTo(i);
+            }
+            ((Closeable) iterator).close();
+            assertThat(iterator.hasNext()).isFalse();
+
+            // the only connection is reconnected and released
+            assertThat(list.size()).isEqualTo(100000);
+            assertThat(list.get(99999)).isEqualTo(99999);
+        } finally {
+            r.getKeys().delete("list");
+            r.shutdown();
+        }
+    }
+
+    @Test
+    public void testReadAllIteratorAbandoned() {
+        RedissonClient r = createSingleConnectionInstance(1000);
+        try {
+            RList<Integer> list = r.getList("list");
+            fillLargeList(list);
+
+            Iterator<Integer> iterator = list.readAllIterator(10);
+            assertThat(iterator.next()).isEqualTo(0);
+
+            // reading is suspended for more than streamSuspendTimeout,
+            // then command fails and the only connection is released
+            assertThat(list.size()).isEqualTo(100000);
+            try {
+                while (iterator.hasNext()) {
+                    iterator.next();
+                }
+                Assert.fail("RedisTimeoutException expected");
+            } catch (RedisTimeoutException e) {
+                // skip
+            }
+        } finally {
+            r.getKeys().delete("list");
+            r.shutdown();
+        }
+    }
+
     @Test
     public void testIteratorSequence() {
         List<String> list = redisson.getList("list");
@@ -339,6 +339,22 @@ public class RedissonMapTest extends BaseTest {
         assertThat(map.readAllEntrySet()).containsOnlyElementsOf(testMap.entrySet());
     }
 
+    @Test
+    public void testReadAllEntrySetIterator() {
+        RMap<Integer, String> map = redisson.getMap("simple12");
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "value" + i);
+        }
+
+        Map<Integer, String> testMap = new HashMap<Integer, String>();
+        Iterator<Map.Entry<Integer, String>> iterator = map.readAllEntrySetIterator(10);
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, String> entry = iterator.next();
+            testMap.put(entry.getKey(), entry.getValue());
+        }
+        assertThat(testMap).isEqualTo(new HashMap<Integer, String>(map));
+    }
+
     @Test
     public void testSimpleTypes() {
         Map<Integer, String> map = redisson.getMap("simple12");
@@ -29,6 +29,21 @@ public class RedissonScriptTest extends BaseTest {
         MatcherAssert.assertThat(res.awaitUninterruptibly().getNow(), Matchers.<Object>contains(1L, 2L, 3L, "foo"));
     }
 
+    @Test
+    public void testEvalAfterScriptFlush() {
+        redisson.getBucket("foo").set("bar");
+        RScript script = redisson.getScript();
+        String res = script.eval(Mode.READ_ONLY, "return redis.call('get', 'foo')", RScript.ReturnType.VALUE, Collections.emptyList());
+        Assert.assertEquals("bar", res);
+
+        script.scriptFlush();
+
+        String res2 = script.eval(Mode.READ_ONLY, "return redis.call('get', 'foo')", RScript.ReturnType.VALUE, Collections.emptyList());
+        Assert.assertEquals("bar", res2);
+        List<Boolean> exists = script.scriptExists("282297a0228f48cd3fc6a55de6316f31422f5d17");
+        Assert.assertTrue(exists.get(0));
+    }
+
     @Test
     public void testScriptExists() {
         RScript s = redisson.getScript();
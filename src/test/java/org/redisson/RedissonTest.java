@@ -1,9 +1,12 @@
 package org.redisson;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -17,17 +20,27 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.redisson.RedisRunner.RedisProcess;
+import org.redisson.client.RedisClient;
+import org.redisson.client.RedisConnection;
 import org.redisson.client.RedisConnectionException;
 import org.redisson.client.RedisOutOfMemoryException;
 import org.redisson.client.WriteRedisConnectionException;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisStrictCommand;
 import org.redisson.client.protocol.decoder.ListScanResult;
+import org.redisson.client.protocol.decoder.StringMapDataDecoder;
 import org.redisson.codec.SerializationCodec;
 import org.redisson.connection.ConnectionListener;
 import org.redisson.core.ClusterNode;
 import org.redisson.core.Node;
 import org.redisson.core.NodesGroup;
+import org.redisson.core.RAtomicLong;
+import org.redisson.core.RBlockingQueue;
+import org.redisson.core.RBucket;
+import org.redisson.core.RList;
 import static com.jayway.awaitility.Awaitility.await;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.redisson.BaseTest.createConfig;
 import static org.redisson.BaseTest.createInstance;
 
 public class RedissonTest {
@@ -220,6 +233,127 @@ public class RedissonTest {
         Assert.assertTrue(r.isShutdown());
     }
 
+    private int connectedClients(RedisConnection connection) {
+        Map<String, String> info = connection.sync(StringCodec.INSTANCE,
+                new RedisStrictCommand<Map<String, String>>("INFO", "CLIENTS", new StringMapDataDecoder()));
+        return Integer.valueOf(info.get("connected_clients"));
+    }
+
+    @Test
+    public void testLazyInit() {
+        RedisClient client = new RedisClient("127.0.0.1", 6379);
+        RedisConnection connection = client.connect();
+        int initialClients = connectedClients(connection);
+
+        Config config = createConfig();
+        config.useSingleServer()
+            .setConnectionMinimumIdleSize(500).setConnectionPoolSize(500)
+            .setConnectionWarmUpParallelism(1)
+            .setLazyInit(true);
+        RedissonClient r = Redisson.create(config);
+        // pool is filled in background
+        assertThat(connectedClients(connection) - initialClients).isLessThan(500);
+
+        RAtomicLong al = r.getAtomicLong("testLazyInit");
+        assertThat(al.incrementAndGet()).isEqualTo(1);
+        assertThat(connectedClients(connection) - initialClients).isLessThan(500);
+
+        await().atMost(30, TimeUnit.SECONDS).until(() -> connectedClients(connection) - initialClients >= 500);
+
+        al.delete();
+        r.shutdown();
+        client.shutdown();
+    }
+
+    @Test
+    public void testHedgedReads() {
+        Config config = new Config();
+        // the same server is used as slave, so reads are hedged to it
+        config.useMasterSlaveServers()
+            .setMasterAddress("127.0.0.1:6379")
+            .addSlaveAddress("127.0.0.1:6379")
+            .setReadMode(ReadMode.SLAVE)
+            .setHedgedReadPercentile(1)
+            .setHedgedReadMinDelay(0);
+        RedissonClient r = Redisson.create(config);
+
+        RBucket<Integer> bucket = r.getBucket("testHedgedReads");
+        bucket.set(1);
+        RList<Integer> list = r.getList("testHedgedReadsList");
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add(i);
+        }
+        list.addAll(expected);
+
+        // most of reads are hedged once enough samples are collected
+        for (int i = 0; i < 1000; i++) {
+            assertThat(bucket.get()).isEqualTo(1);
+        }
+
+        // streamed reply isn't hedged, so elements aren't duplicated
+        for (int j = 0; j < 10; j++) {
+            List<Integer> result = new ArrayList<Integer>();
+            Iterator<Integer> iterator = list.readAllIterator(10);
+            while (iterator.hasNext()) {
+                result.add(iterator.next());
+            }
+            assertThat(result).isEqualTo(expected);
+        }
+
+        bucket.delete();
+        list.delete();
+        r.shutdown();
+    }
+
+//    @Test
+    public void benchmarkLazyInit() {
+        Config config = createConfig();
+        config.useSingleServer()
+            .setConnectionMinimumIdleSize(500).setConnectionPoolSize(500)
+            .setConnectionWarmUpParallelism(10);
+
+        long startTime = System.currentTimeMillis();
+        RedissonClient r = Redisson.create(config);
+        long eagerTime = System.currentTimeMillis() - startTime;
+        r.shutdown();
+
+        config.useSingleServer().setLazyInit(true);
+        startTime = System.currentTimeMillis();
+        r = Redisson.create(config);
+        long lazyTime = System.currentTimeMillis() - startTime;
+        r.shutdown();
+
+        System.out.println("startup time, eager: " + eagerTime + " ms, lazy: " + lazyTime + " ms");
+    }
+
+//    @Test
+    public void benchmarkSyncAllocations() {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        RBucket<String> bucket = redisson.getBucket("benchmarkSyncAllocations");
+        bucket.set("value");
+        // warm up
+        for (int i = 0; i < 100000; i++) {
+            bucket.get();
+        }
+
+        int iterations = 100000;
+        long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            bucket.get();
+        }
+        long time = System.nanoTime() - startTime;
+        long bytes = threadBean.getThreadAllocatedBytes(threadId) - startBytes;
+
+        // allocations made by caller thread only, event loop threads aren't counted
+        System.out.println("RBucket.get(): " + bytes / iterations + " bytes allocated, "
+                                + time / iterations / 1000 + " us per call");
+        bucket.delete();
+    }
+
 //    @Test
     public void test() {
         NodesGroup<Node> nodes = redisson.getNodesGroup();
@@ -343,6 +477,28 @@ public class RedissonTest {
         r.shutdown();
     }
 
+    @Test
+    public void testSharedConnections() throws InterruptedException {
+        Config config = new Config();
+        config.useSingleServer()
+        .setSharedConnections(2)
+        .setConnectionMinimumIdleSize(1)
+        .setConnectionPoolSize(2)
+        .setAddress("127.0.0.1:6379");
+        RedissonClient r = Redisson.create(config);
+
+        RAtomicLong counter = r.getAtomicLong("counter");
+        for (int i = 0; i < 1000; i++) {
+            counter.incrementAndGetAsync();
+        }
+        RBlockingQueue<Integer> queue = r.getBlockingQueue("queue");
+        assertThat(queue.poll(1, TimeUnit.SECONDS)).isNull();
+        assertThat(counter.get()).isEqualTo(1000);
+
+        counter.delete();
+        r.shutdown();
+    }
+
     private RedisProcess redisTestSmallMemory() throws IOException, InterruptedException {
         return new RedisRunner()
                 .maxmemory("1mb")
@@ -0,0 +1,62 @@
+package org.redisson.client;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.data.Percentage;
+import org.junit.Test;
+
+public class RedisClientStatsTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void testOutstandingCommands() {
+        RedisClientStats stats = new RedisClientStats();
+        assertThat(stats.getOutstandingCommands()).isZero();
+
+        stats.commandSent();
+        stats.commandSent();
+        stats.commandSent();
+        assertThat(stats.getOutstandingCommands()).isEqualTo(3);
+
+        stats.commandCompleted(MILLIS);
+        assertThat(stats.getOutstandingCommands()).isEqualTo(2);
+    }
+
+    @Test
+    public void testPeakLatency() {
+        RedisClientStats stats = new RedisClientStats();
+        assertThat(stats.getLatency()).isZero();
+
+        stats.commandSent();
+        stats.commandCompleted(MILLIS);
+        assertThat(stats.getLatency()).isCloseTo(MILLIS, Percentage.withPercentage(1));
+
+        // higher sample is taken at once
+        stats.commandSent();
+        stats.commandCompleted(10 * MILLIS);
+        assertThat(stats.getLatency()).isCloseTo(10 * MILLIS, Percentage.withPercentage(1));
+
+        // lower sample is smoothed: 10 + (0 - 10) * 0.3
+        stats.commandSent();
+        stats.commandCompleted(0);
+        assertThat(stats.getLatency()).isCloseTo(7 * MILLIS, Percentage.withPercentage(1));
+    }
+
+    @Test
+    public void testLatencyDecay() throws InterruptedException {
+        RedisClientStats stats = new RedisClientStats();
+        stats.commandSent();
+        stats.commandCompleted(10 * MILLIS);
+        double latency = stats.getLatency();
+
+        Thread.sleep(200);
+
+        // decays by exp(-0.2s / 10s) without new samples
+        assertThat(stats.getLatency()).isLessThan(latency)
+                                       .isCloseTo(latency * Math.exp(-0.02), Percentage.withPercentage(1));
+    }
+
+}
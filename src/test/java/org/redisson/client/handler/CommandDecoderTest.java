@@ -0,0 +1,257 @@
+package org.redisson.client.handler;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.redisson.client.RedisException;
+import org.redisson.client.RedisPubSubConnection;
+import org.redisson.client.RedisPubSubListener;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.CommandData;
+import org.redisson.client.protocol.CommandsData;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.client.protocol.pubsub.PubSubType;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import io.netty.util.concurrent.Promise;
+
+public class CommandDecoderTest {
+
+    /**
+     * Splits reply at every byte boundary into two fragments
+     * and additionally into single byte fragments.
+     */
+    private List<List<String>> fragmentations(String reply) {
+        List<List<String>> result = new ArrayList<List<String>>();
+        for (int i = 1; i < reply.length(); i++) {
+            result.add(Arrays.asList(reply.substring(0, i), reply.substring(i)));
+        }
+        List<String> bytes = new ArrayList<String>();
+        for (int i = 0; i < reply.length(); i++) {
+            bytes.add(reply.substring(i, i + 1));
+        }
+        result.add(bytes);
+        return result;
+    }
+
+    private EmbeddedChannel createChannel() {
+        return new EmbeddedChannel(new CommandsQueue(true), new CommandDecoder());
+    }
+
+    private void feed(EmbeddedChannel channel, List<String> fragments) {
+        for (String fragment : fragments) {
+            channel.writeInbound(Unpooled.copiedBuffer(fragment, CharsetUtil.UTF_8));
+        }
+    }
+
+    private <R> CommandData<Object, R> command(EmbeddedChannel channel, RedisCommand<?> command, Object... params) {
+        Promise<R> promise = channel.eventLoop().newPromise();
+        return new CommandData<Object, R>(promise, StringCodec.INSTANCE, (RedisCommand<Object>) command, params);
+    }
+
+    @Test
+    public void testBulkString() {
+        String reply = "$5\r\nhello\r\n$-1\r\n$0\r\n\r\n";
+        for (List<String> fragments : fragmentations(reply)) {
+            EmbeddedChannel channel = createChannel();
+            CommandData<Object, Object> get1 = command(channel, RedisCommands.GET, "key1");
+            CommandData<Object, Object> get2 = command(channel, RedisCommands.GET, "key2");
+            CommandData<Object, Object> get3 = command(channel, RedisCommands.GET, "key3");
+            channel.writeAndFlush(get1);
+            channel.writeAndFlush(get2);
+            channel.writeAndFlush(get3);
+
+            feed(channel, fragments);
+
+            assertThat(get1.getPromise().getNow()).as(fragments.toString()).isEqualTo("hello");
+            assertThat(get2.isSuccess()).as(fragments.toString()).isTrue();
+            assertThat(get2.getPromise().getNow()).as(fragments.toString()).isNull();
+            assertThat(get3.getPromise().getNow()).as(fragments.toString()).isEqualTo("");
+            channel.finish();
+        }
+    }
+
+    @Test
+    public void testNestedArray() {
+        String reply = "*3\r\n*2\r\n$1\r\na\r\n:1\r\n*0\r\n*1\r\n*1\r\n+OK\r\n:42\r\n";
+        for (List<String> fragments : fragmentations(reply)) {
+            EmbeddedChannel channel = createChannel();
+            CommandData<Object, List<Object>> eval = command(channel, RedisCommands.EVAL_LIST, "script", 0);
+            CommandData<Object, Long> incr = command(channel, RedisCommands.INCR, "key");
+            channel.writeAndFlush(eval);
+            channel.writeAndFlush(incr);
+
+            feed(channel, fragments);
+
+            List<Object> expected = Arrays.<Object>asList(Arrays.<Object>asList("a", 1L),
+                    new ArrayList<Object>(), Arrays.<Object>asList(Arrays.<Object>asList("OK")));
+            assertThat(eval.getPromise().getNow()).as(fragments.toString()).isEqualTo(expected);
+            assertThat(incr.getPromise().getNow()).as(fragments.toString()).isEqualTo(42L);
+            channel.finish();
+        }
+    }
+
+    @Test
+    public void testNilAndEmptyMultiBulk() {
+        String reply = "*-1\r\n*0\r\n*1\r\n$-1\r\n";
+        for (List<String> fragments : fragmentations(reply)) {
+            EmbeddedChannel channel = createChannel();
+            CommandData<Object, List<Object>> nil = command(channel, RedisCommands.LRANGE, "key1", 0, -1);
+            CommandData<Object, List<Object>> empty = command(channel, RedisCommands.LRANGE, "key2", 0, -1);
+            CommandData<Object, List<Object>> nilElement = command(channel, RedisCommands.LRANGE, "key3", 0, -1);
+            channel.writeAndFlush(nil);
+            channel.writeAndFlush(empty);
+            channel.writeAndFlush(nilElement);
+
+            feed(channel, fragments);
+
+            assertThat(nil.getPromise().getNow()).as(fragments.toString()).isEmpty();
+            assertThat(empty.getPromise().getNow()).as(fragments.toString()).isEmpty();
+            assertThat(nilElement.getPromise().getNow()).as(fragments.toString()).containsExactly((Object) null);
+            channel.finish();
+        }
+    }
+
+    @Test
+    public void testErrorReply() {
+        String reply = "-ERR unknown\r\n:1\r\n";
+        for (List<String> fragments : fragmentations(reply)) {
+            EmbeddedChannel channel = createChannel();
+            CommandData<Object, Long> failed = command(channel, RedisCommands.INCR, "key1");
+            CommandData<Object, Long> incr = command(channel, RedisCommands.INCR, "key2");
+            channel.writeAndFlush(failed);
+            channel.writeAndFlush(incr);
+
+            feed(channel, fragments);
+
+            assertThat(failed.cause()).as(fragments.toString()).isInstanceOf(RedisException.class)
+                .hasMessageStartingWith("ERR unknown");
+            assertThat(incr.getPromise().getNow()).as(fragments.toString()).isEqualTo(1L);
+            channel.finish();
+        }
+    }
+
+    @Test
+    public void testPubSubMessage() {
+        String subscribeReply = "*3\r\n$9\r\nsubscribe\r\n$7\r\nchannel\r\n:1\r\n";
+        String messageReply = "*3\r\n$7\r\nmessage\r\n$7\r\nchannel\r\n$5\r\nhello\r\n";
+        for (List<String> fragments : fragmentations(subscribeReply + messageReply + messageReply)) {
+            EmbeddedChannel channel = createChannel();
+            RedisPubSubConnection connection = new RedisPubSubConnection(null, channel);
+            final List<Object> events = new ArrayList<Object>();
+            connection.addListener(new RedisPubSubListener<Object>() {
+                @Override
+                public boolean onStatus(PubSubType type, String channel) {
+                    events.add(type);
+                    return true;
+                }
+
+                @Override
+                public void onPatternMessage(String pattern, String channel, Object message) {
+                    events.add(message);
+                }
+
+                @Override
+                public void onMessage(String channel, Object msg) {
+                    events.add(channel + ":" + msg);
+                }
+            });
+            connection.subscribe(StringCodec.INSTANCE, "channel");
+
+            feed(channel, fragments);
+
+            assertThat(events).as(fragments.toString())
+                .containsExactly(PubSubType.SUBSCRIBE, "channel:hello", "channel:hello");
+            channel.finish();
+        }
+    }
+
+    @Test
+    public void testBatch() {
+        String reply = "$3\r\nfoo\r\n*2\r\n$1\r\na\r\n$1\r\nb\r\n-ERR wrong\r\n:5\r\n";
+        for (List<String> fragments : fragmentations(reply)) {
+            EmbeddedChannel channel = createChannel();
+            CommandData<Object, Object> get = command(channel, RedisCommands.GET, "key1");
+            CommandData<Object, List<Object>> lrange = command(channel, RedisCommands.LRANGE, "key2", 0, -1);
+            CommandData<Object, Long> failed = command(channel, RedisCommands.INCR, "key3");
+            Promise<Void> promise = channel.eventLoop().newPromise();
+            CommandsData batch = new CommandsData(promise, Arrays.<CommandData<?, ?>>asList(get, lrange, failed));
+            CommandData<Object, Long> incr = command(channel, RedisCommands.INCR, "key4");
+            channel.writeAndFlush(batch);
+            channel.writeAndFlush(incr);
+
+            feed(channel, fragments);
+
+            assertThat(get.getPromise().getNow()).as(fragments.toString()).isEqualTo("foo");
+            assertThat(lrange.getPromise().getNow()).as(fragments.toString()).containsExactly("a", "b");
+            assertThat(failed.cause()).as(fragments.toString()).hasMessageStartingWith("ERR wrong");
+            assertThat(promise.cause()).as(fragments.toString()).isSameAs(failed.cause());
+            assertThat(incr.getPromise().getNow()).as(fragments.toString()).isEqualTo(5L);
+            channel.finish();
+        }
+    }
+
+    @Test
+    public void testAtomicBatch() {
+        String reply = "+OK\r\n+QUEUED\r\n+QUEUED\r\n+QUEUED\r\n*3\r\n$3\r\nfoo\r\n*2\r\n*1\r\n:1\r\n*0\r\n:7\r\n:8\r\n";
+        for (List<String> fragments : fragmentations(reply)) {
+            EmbeddedChannel channel = createChannel();
+            CommandData<Object, Void> multi = command(channel, RedisCommands.MULTI);
+            CommandData<Object, Object> get = command(channel, RedisCommands.GET, "key1");
+            CommandData<Object, List<Object>> eval = command(channel, RedisCommands.EVAL_LIST, "script", 0);
+            CommandData<Object, Long> incr = command(channel, RedisCommands.INCR, "key2");
+            CommandData<Object, List<Object>> exec = command(channel, RedisCommands.EXEC);
+            Promise<Void> promise = channel.eventLoop().newPromise();
+            CommandsData batch = new CommandsData(promise,
+                    Arrays.<CommandData<?, ?>>asList(multi, get, eval, incr, exec), false, true);
+            CommandData<Object, Long> next = command(channel, RedisCommands.INCR, "key3");
+            channel.writeAndFlush(batch);
+            channel.writeAndFlush(next);
+
+            feed(channel, fragments);
+
+            assertThat(promise.isSuccess()).as(fragments.toString()).isTrue();
+            assertThat(multi.isSuccess()).as(fragments.toString()).isTrue();
+            assertThat(get.getPromise().getNow()).as(fragments.toString()).isEqualTo("foo");
+            List<Object> expected = Arrays.<Object>asList(Arrays.<Object>asList(1L), new ArrayList<Object>());
+            assertThat(eval.getPromise().getNow()).as(fragments.toString()).isEqualTo(expected);
+            assertThat(incr.getPromise().getNow()).as(fragments.toString()).isEqualTo(7L);
+            assertThat(exec.isSuccess()).as(fragments.toString()).isTrue();
+            assertThat(next.getPromise().getNow()).as(fragments.toString()).isEqualTo(8L);
+            channel.finish();
+        }
+    }
+
+    @Test
+    public void testAbortedAtomicBatch() {
+        String reply = "+OK\r\n+QUEUED\r\n*-1\r\n:3\r\n";
+        for (List<String> fragments : fragmentations(reply)) {
+            EmbeddedChannel channel = createChannel();
+            CommandData<Object, Void> multi = command(channel, RedisCommands.MULTI);
+            CommandData<Object, Object> get = command(channel, RedisCommands.GET, "key1");
+            CommandData<Object, List<Object>> exec = command(channel, RedisCommands.EXEC);
+            Promise<Void> promise = channel.eventLoop().newPromise();
+            CommandsData batch = new CommandsData(promise,
+                    Arrays.<CommandData<?, ?>>asList(multi, get, exec), false, true);
+            CommandData<Object, Long> next = command(channel, RedisCommands.INCR, "key2");
+            channel.writeAndFlush(batch);
+            channel.writeAndFlush(next);
+
+            feed(channel, fragments);
+
+            assertThat(get.cause()).as(fragments.toString()).isInstanceOf(RedisException.class);
+            assertThat(exec.cause()).as(fragments.toString()).isSameAs(get.cause());
+            assertThat(promise.cause()).as(fragments.toString()).isSameAs(get.cause());
+            assertThat(next.getPromise().getNow()).as(fragments.toString()).isEqualTo(3L);
+            channel.finish();
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package org.redisson.client.protocol;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.redisson.client.protocol.RedisCommand.EncoderType;
+import org.redisson.client.protocol.RedisCommand.ValueType;
+import org.redisson.client.protocol.convertor.VoidReplayConvertor;
+
+import io.netty.util.CharsetUtil;
+
+public class RedisCommandTest {
+
+    private EncoderType[] encoderTypes(RedisCommand<?> command, int count) {
+        EncoderType[] types = new EncoderType[count];
+        for (int i = 0; i < count; i++) {
+            types[i] = command.getEncoderType(i);
+        }
+        return types;
+    }
+
+    /**
+     * Encoder types are resolved directly on the first encoding
+     * and from encoding plan later, both ways should give the same result
+     */
+    private EncoderType[] assertPlanned(RedisCommand<?> command, int count) {
+        command.getEncodedHeader();
+        EncoderType[] unplanned = encoderTypes(command, count);
+        command.getEncodedHeader();
+        EncoderType[] planned = encoderTypes(command, count);
+        assertThat(planned).isEqualTo(unplanned);
+        return planned;
+    }
+
+    @Test
+    public void testHeader() {
+        RedisCommand<Object> command = new RedisCommand<Object>("GET");
+        assertThat(command.getHeaderArgsCount()).isEqualTo(1);
+        for (int i = 0; i < 3; i++) {
+            assertThat(new String(command.getEncodedHeader(), CharsetUtil.UTF_8)).isEqualTo("$3\r\nGET\r\n");
+        }
+    }
+
+    @Test
+    public void testHeaderWithSubName() {
+        RedisCommand<Object> command = new RedisCommand<Object>("CLIENT", "SETNAME");
+        assertThat(command.getHeaderArgsCount()).isEqualTo(2);
+        for (int i = 0; i < 3; i++) {
+            assertThat(new String(command.getEncodedHeader(), CharsetUtil.UTF_8)).isEqualTo("$6\r\nCLIENT\r\n$7\r\nSETNAME\r\n");
+        }
+    }
+
+    @Test
+    public void testValueParam() {
+        RedisCommand<Void> command = new RedisCommand<Void>("SET", new VoidReplayConvertor(), 2);
+        assertThat(assertPlanned(command, 6)).containsExactly(EncoderType.PARAMS, EncoderType.VALUE,
+                EncoderType.PARAMS, EncoderType.PARAMS, EncoderType.PARAMS, EncoderType.PARAMS);
+    }
+
+    @Test
+    public void testObjectsTail() {
+        RedisCommand<Long> command = new RedisCommand<Long>("RPUSH", 2, ValueType.OBJECTS);
+        EncoderType[] types = assertPlanned(command, 20);
+        assertThat(types[0]).isEqualTo(EncoderType.PARAMS);
+        for (int i = 1; i < types.length; i++) {
+            assertThat(types[i]).isEqualTo(EncoderType.VALUE);
+        }
+    }
+
+    @Test
+    public void testMapTail() {
+        RedisCommand<Void> command = new RedisCommand<Void>("HMSET", new VoidReplayConvertor(), 2, ValueType.MAP);
+        EncoderType[] types = assertPlanned(command, 21);
+        assertThat(types[0]).isEqualTo(EncoderType.PARAMS);
+        // key, value pairs repeat with period 2 beyond the plan
+        for (int i = 1; i < types.length; i += 2) {
+            assertThat(types[i]).isEqualTo(EncoderType.MAP_KEY);
+            assertThat(types[i + 1]).isEqualTo(EncoderType.MAP_VALUE);
+        }
+    }
+
+    @Test
+    public void testMultipleParamTypes() {
+        RedisCommand<Object> command = new RedisCommand<Object>("EVAL", 3,
+                Arrays.asList(ValueType.STRING, ValueType.MAP_KEY, ValueType.OBJECT), ValueType.OBJECT);
+        assertThat(assertPlanned(command, 7)).containsExactly(EncoderType.PARAMS, EncoderType.PARAMS,
+                EncoderType.STRING, EncoderType.MAP_KEY, EncoderType.VALUE, null, null);
+    }
+
+}
@@ -0,0 +1,82 @@
+package org.redisson.codec;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.ByteBufEncoder;
+import org.redisson.client.protocol.Encoder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+
+public class CodecByteBufEncoderTest {
+
+    private final List<Codec> codecs = Arrays.<Codec>asList(new SerializationCodec(), new KryoCodec(),
+            new JsonJacksonCodec(), new FstCodec(), new SnappyCodec(), new LZ4Codec());
+
+    private Map<String, String> value() {
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, "value" + i);
+        }
+        return map;
+    }
+
+    private void assertRoundTrip(Codec codec, Object value, ByteBuf out) throws IOException {
+        try {
+            Encoder encoder = codec.getValueEncoder();
+            assertThat(encoder).isInstanceOf(ByteBufEncoder.class);
+
+            out.writeByte('$');
+            ((ByteBufEncoder) encoder).encode(value, out);
+            assertThat(out.readByte()).isEqualTo((byte) '$');
+
+            byte[] expected = encoder.encode(value);
+            assertThat(codec.getValueDecoder().decode(out.duplicate(), null))
+                    .as(codec.getClass().getSimpleName()).isEqualTo(value);
+            assertThat(codec.getValueDecoder().decode(Unpooled.wrappedBuffer(expected), null))
+                    .as(codec.getClass().getSimpleName()).isEqualTo(value);
+        } finally {
+            out.release();
+        }
+    }
+
+    @Test
+    public void testHeapBuffer() throws IOException {
+        for (Codec codec : codecs) {
+            assertRoundTrip(codec, value(), Unpooled.buffer(1));
+        }
+    }
+
+    @Test
+    public void testDirectBuffer() throws IOException {
+        for (Codec codec : codecs) {
+            assertRoundTrip(codec, value(), Unpooled.directBuffer(1));
+        }
+    }
+
+    @Test
+    public void testCompositeBuffer() throws IOException {
+        for (Codec codec : codecs) {
+            CompositeByteBuf out = Unpooled.compositeBuffer();
+            out.addComponent(Unpooled.directBuffer(16));
+            out.addComponent(Unpooled.buffer(16));
+            assertRoundTrip(codec, value(), out);
+        }
+    }
+
+    @Test
+    public void testStringCodec() throws IOException {
+        assertRoundTrip(StringCodec.INSTANCE, "привет world", Unpooled.directBuffer(1));
+    }
+
+}
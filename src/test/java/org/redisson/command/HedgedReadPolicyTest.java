@@ -0,0 +1,70 @@
+package org.redisson.command;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class HedgedReadPolicyTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void testNoHedgeUntilEnoughSamples() {
+        HedgedReadPolicy policy = new HedgedReadPolicy(90, 0);
+        assertThat(policy.getDelay()).isEqualTo(HedgedReadPolicy.NO_HEDGE);
+
+        for (int i = 0; i < 127; i++) {
+            policy.addSample(MILLIS);
+        }
+        assertThat(policy.getDelay()).isEqualTo(HedgedReadPolicy.NO_HEDGE);
+
+        policy.addSample(MILLIS);
+        assertThat(policy.getDelay()).isEqualTo(MILLIS);
+    }
+
+    @Test
+    public void testPercentile() {
+        HedgedReadPolicy policy = new HedgedReadPolicy(95, 0);
+        // samples from 1 to 128 ms in reverse order
+        for (int i = 128; i > 0; i--) {
+            policy.addSample(i * MILLIS);
+        }
+        // 122nd of 128 sorted samples
+        assertThat(policy.getDelay()).isEqualTo(122 * MILLIS);
+    }
+
+    @Test
+    public void testFullPercentile() {
+        HedgedReadPolicy policy = new HedgedReadPolicy(100, 0);
+        for (int i = 1; i <= 128; i++) {
+            policy.addSample(i * MILLIS);
+        }
+        assertThat(policy.getDelay()).isEqualTo(128 * MILLIS);
+    }
+
+    @Test
+    public void testMinDelay() {
+        HedgedReadPolicy policy = new HedgedReadPolicy(99, 5);
+        for (int i = 0; i < 128; i++) {
+            policy.addSample(MILLIS);
+        }
+        assertThat(policy.getDelay()).isEqualTo(5 * MILLIS);
+    }
+
+    @Test
+    public void testOldSamplesReplaced() {
+        HedgedReadPolicy policy = new HedgedReadPolicy(50, 0);
+        for (int i = 0; i < 1024; i++) {
+            policy.addSample(100 * MILLIS);
+        }
+        assertThat(policy.getDelay()).isEqualTo(100 * MILLIS);
+
+        for (int i = 0; i < 1024; i++) {
+            policy.addSample(MILLIS);
+        }
+        assertThat(policy.getDelay()).isEqualTo(MILLIS);
+    }
+
+}
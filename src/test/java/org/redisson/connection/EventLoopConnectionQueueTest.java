@@ -0,0 +1,148 @@
+package org.redisson.connection;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.redisson.client.RedisConnection;
+
+import io.netty.channel.EventLoop;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalEventLoopGroup;
+
+public class EventLoopConnectionQueueTest {
+
+    private LocalEventLoopGroup group;
+    private EventLoop loop1;
+    private EventLoop loop2;
+
+    @Before
+    public void before() {
+        group = new LocalEventLoopGroup(2);
+        loop1 = group.next();
+        loop2 = group.next();
+        assertThat(loop1).isNotSameAs(loop2);
+    }
+
+    @After
+    public void after() throws InterruptedException {
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+    }
+
+    private RedisConnection createConnection(EventLoop loop) throws InterruptedException {
+        LocalChannel channel = new LocalChannel();
+        loop.register(channel).sync();
+        return new RedisConnection(null, channel);
+    }
+
+    private RedisConnection pollIn(EventLoop loop, final EventLoopConnectionQueue<RedisConnection> queue) throws Exception {
+        return loop.submit(new Callable<RedisConnection>() {
+            @Override
+            public RedisConnection call() throws Exception {
+                return queue.poll();
+            }
+        }).get();
+    }
+
+    @Test
+    public void testPollAffinity() throws Exception {
+        EventLoopConnectionQueue<RedisConnection> queue = new EventLoopConnectionQueue<RedisConnection>();
+        RedisConnection conn1 = createConnection(loop1);
+        RedisConnection conn2 = createConnection(loop2);
+        queue.add(conn1);
+        queue.add(conn2);
+
+        assertThat(pollIn(loop2, queue)).isSameAs(conn2);
+        assertThat(pollIn(loop1, queue)).isSameAs(conn1);
+        assertThat(queue).isEmpty();
+    }
+
+    @Test
+    public void testPollFallback() throws Exception {
+        EventLoopConnectionQueue<RedisConnection> queue = new EventLoopConnectionQueue<RedisConnection>();
+        assertThat(queue.poll()).isNull();
+
+        RedisConnection conn1 = createConnection(loop1);
+        queue.add(conn1);
+        createConnection(loop2);
+
+        // partition of caller's event loop is empty
+        assertThat(pollIn(loop2, queue)).isSameAs(conn1);
+        assertThat(pollIn(loop2, queue)).isNull();
+
+        RedisConnection conn2 = createConnection(loop2);
+        queue.add(conn1);
+        queue.add(conn2);
+
+        // caller isn't running on event loop
+        RedisConnection first = queue.poll();
+        RedisConnection second = queue.poll();
+        assertThat(first).isIn(conn1, conn2);
+        assertThat(second).isIn(conn1, conn2).isNotSameAs(first);
+        assertThat(queue.poll()).isNull();
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        EventLoopConnectionQueue<RedisConnection> queue = new EventLoopConnectionQueue<RedisConnection>();
+        RedisConnection conn1 = createConnection(loop1);
+        RedisConnection conn2 = createConnection(loop2);
+        RedisConnection conn3 = createConnection(loop1);
+        queue.add(conn1);
+        queue.add(conn2);
+        queue.add(conn3);
+        assertThat(queue).hasSize(3);
+        assertThat(queue.peek()).isNotNull();
+
+        assertThat(queue.remove(conn1)).isTrue();
+        assertThat(queue.remove(conn1)).isFalse();
+        assertThat(queue.remove(createConnection(loop2))).isFalse();
+        assertThat(queue).hasSize(2).containsOnly(conn2, conn3);
+
+        assertThat(pollIn(loop1, queue)).isSameAs(conn3);
+        assertThat(pollIn(loop1, queue)).isSameAs(conn2);
+        assertThat(queue.peek()).isNull();
+    }
+
+    @Test
+    public void testIteratorRemove() throws Exception {
+        EventLoopConnectionQueue<RedisConnection> queue = new EventLoopConnectionQueue<RedisConnection>();
+        RedisConnection conn1 = createConnection(loop1);
+        RedisConnection conn2 = createConnection(loop2);
+        queue.add(conn1);
+        queue.add(conn2);
+
+        Iterator<RedisConnection> iterator = queue.iterator();
+        try {
+            iterator.remove();
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        int count = 0;
+        while (iterator.hasNext()) {
+            RedisConnection connection = iterator.next();
+            count++;
+            if (connection == conn1) {
+                iterator.remove();
+                try {
+                    iterator.remove();
+                    fail("IllegalStateException expected");
+                } catch (IllegalStateException e) {
+                    // expected
+                }
+            }
+        }
+
+        assertThat(count).isEqualTo(2);
+        assertThat(queue).containsOnly(conn2);
+        assertThat(pollIn(loop1, queue)).isSameAs(conn2);
+    }
+
+}
@@ -0,0 +1,226 @@
+package org.redisson.connection;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.redisson.MasterSlaveServersConfig;
+import org.redisson.client.RedisClient;
+import org.redisson.client.RedisConnection;
+import org.redisson.connection.IdleConnectionWatcher.AdaptiveEntry;
+import org.redisson.connection.pool.MasterConnectionPool;
+import org.redisson.core.NodeType;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+public class IdleConnectionWatcherTest {
+
+    private NioEventLoopGroup group;
+    private RedisClient client;
+    private final AtomicInteger grows = new AtomicInteger();
+
+    @Before
+    public void before() {
+        group = new NioEventLoopGroup(1);
+        client = new RedisClient(group, NioSocketChannel.class, "127.0.0.1", 6379, 1000);
+    }
+
+    @After
+    public void after() throws InterruptedException {
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+    }
+
+    private ConnectionManager createConnectionManager(final MasterSlaveServersConfig config) {
+        return createConnectionManager(config, true);
+    }
+
+    private ConnectionManager createConnectionManager(final MasterSlaveServersConfig config, final boolean stubGrow) {
+        final IdleConnectionWatcher[] watcher = new IdleConnectionWatcher[1];
+        ConnectionManager manager = (ConnectionManager) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[] {ConnectionManager.class}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (method.getName().equals("getConfig")) {
+                    return config;
+                }
+                if (method.getName().equals("getGroup")) {
+                    return group;
+                }
+                if (method.getName().equals("getConnectionWatcher")) {
+                    return watcher[0];
+                }
+                if (method.getName().equals("newPromise")) {
+                    return group.next().newPromise();
+                }
+                throw new UnsupportedOperationException(method.getName());
+            }
+        });
+        if (!stubGrow) {
+            watcher[0] = new IdleConnectionWatcher(manager, config);
+            return manager;
+        }
+        watcher[0] = new IdleConnectionWatcher(manager, config) {
+            @Override
+            boolean grow(AdaptiveEntry entry) {
+                grows.incrementAndGet();
+                return true;
+            }
+        };
+        return manager;
+    }
+
+    private ConnectionManager createConnectionManager() {
+        MasterSlaveServersConfig config = new MasterSlaveServersConfig();
+        config.setIdleConnectionTimeout(60000);
+        return createConnectionManager(config);
+    }
+
+    private ClientConnectionsEntry createClientEntry(ConnectionManager manager) {
+        return new ClientConnectionsEntry(client, 2, 20, 0, 0, manager, NodeType.MASTER);
+    }
+
+    private RedisConnection createIdleConnection(long lastUsageTime) {
+        RedisConnection connection = new RedisConnection(client, new EmbeddedChannel());
+        connection.setLastUsageTime(lastUsageTime);
+        return connection;
+    }
+
+    @Test
+    public void testTargetBounds() {
+        ConnectionManager manager = createConnectionManager();
+        ClientConnectionsEntry clientEntry = createClientEntry(manager);
+        AtomicInteger counter = new AtomicInteger(20);
+        AdaptiveEntry entry = new AdaptiveEntry(clientEntry, 2, 20, new ConcurrentLinkedQueue<RedisConnection>(), counter);
+
+        // no demand yet
+        assertThat(entry.getTarget()).isEqualTo(2);
+
+        for (int i = 0; i < 1000; i++) {
+            clientEntry.addAcquireWait(1000);
+        }
+        manager.getConnectionWatcher().adapt(entry, 1000);
+        assertThat(entry.getTarget()).isEqualTo(20);
+    }
+
+    @Test
+    public void testAdaptGrow() {
+        ConnectionManager manager = createConnectionManager();
+        ClientConnectionsEntry clientEntry = createClientEntry(manager);
+        // 4 connections in use
+        AtomicInteger counter = new AtomicInteger(16);
+        AdaptiveEntry entry = new AdaptiveEntry(clientEntry, 2, 20, new ConcurrentLinkedQueue<RedisConnection>(), counter);
+
+        for (int i = 0; i < 20; i++) {
+            clientEntry.addAcquireWait(1000);
+        }
+        // demand rises to (4 + 20) * 0.5 = 12, target is 12 * 1.25 = 15
+        manager.getConnectionWatcher().adapt(entry, 1000);
+        assertThat(entry.getTarget()).isEqualTo(15);
+        // limited by connections per step
+        assertThat(grows.get()).isEqualTo(10);
+
+        // waits are counted once, demand decays to 12 - (12 - 4) * 0.1 = 11.2
+        grows.set(0);
+        manager.getConnectionWatcher().adapt(entry, 1000);
+        assertThat(entry.getTarget()).isEqualTo(14);
+        assertThat(grows.get()).isEqualTo(10);
+    }
+
+    @Test
+    public void testAdaptShrink() {
+        ConnectionManager manager = createConnectionManager();
+        ClientConnectionsEntry clientEntry = createClientEntry(manager);
+        Queue<RedisConnection> connections = new ConcurrentLinkedQueue<RedisConnection>();
+        long unusedTime = System.currentTimeMillis() - 10000;
+        for (int i = 0; i < 10; i++) {
+            connections.add(createIdleConnection(unusedTime));
+        }
+        RedisConnection recentlyUsed = createIdleConnection(System.currentTimeMillis());
+        connections.add(recentlyUsed);
+        AtomicInteger counter = new AtomicInteger(20);
+        AdaptiveEntry entry = new AdaptiveEntry(clientEntry, 2, 20, connections, counter);
+
+        // total 11, target 2, half of excess is closed
+        manager.getConnectionWatcher().adapt(entry, 1000);
+        assertThat(connections).hasSize(6).contains(recentlyUsed);
+        assertThat(grows.get()).isZero();
+
+        manager.getConnectionWatcher().adapt(entry, 1000);
+        assertThat(connections).hasSize(4).contains(recentlyUsed);
+    }
+
+    @Test
+    public void testAdaptFreezed() {
+        ConnectionManager manager = createConnectionManager();
+        ClientConnectionsEntry clientEntry = createClientEntry(manager);
+        AtomicInteger counter = new AtomicInteger(10);
+        AdaptiveEntry entry = new AdaptiveEntry(clientEntry, 2, 20, new ConcurrentLinkedQueue<RedisConnection>(), counter);
+
+        clientEntry.setFreezed(true);
+        manager.getConnectionWatcher().adapt(entry, 1000);
+        assertThat(entry.getTarget()).isEqualTo(2);
+        assertThat(grows.get()).isZero();
+    }
+
+    @Test
+    public void testGrowConnectFailure() throws InterruptedException {
+        MasterSlaveServersConfig config = new MasterSlaveServersConfig();
+        config.setIdleConnectionTimeout(60000);
+        config.setAdaptivePoolInterval(60000);
+        ConnectionManager manager = createConnectionManager(config, false);
+        // nothing listens on this port
+        RedisClient unavailable = new RedisClient(group, NioSocketChannel.class, "127.0.0.1", 1, 1000);
+        ClientConnectionsEntry clientEntry = new ClientConnectionsEntry(unavailable, 0, 1, 0, 0, manager, NodeType.MASTER);
+        MasterConnectionPool pool = new MasterConnectionPool(config, manager, null);
+        assertThat(pool.addIdleConnection(clientEntry)).isTrue();
+        // connection slot is taken by pending connect
+        assertThat(pool.addIdleConnection(clientEntry)).isFalse();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (clientEntry.getFailedAttempts() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        // failure is counted by pool and slot is released
+        assertThat(clientEntry.getFailedAttempts()).isEqualTo(1);
+        assertThat(clientEntry.tryAcquireConnection()).isTrue();
+        assertThat(clientEntry.tryAcquireConnection()).isFalse();
+    }
+
+    @Test
+    public void testRemove() throws InterruptedException {
+        MasterSlaveServersConfig config = new MasterSlaveServersConfig();
+        config.setIdleConnectionTimeout(60000);
+        config.setAdaptivePoolInterval(10);
+        ConnectionManager manager = createConnectionManager(config);
+        // registered by constructor
+        ClientConnectionsEntry clientEntry = createClientEntry(manager);
+
+        clientEntry.addAcquireWait(1000);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (grows.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(grows.get()).isPositive();
+
+        manager.getConnectionWatcher().remove(clientEntry);
+        Thread.sleep(50);
+        grows.set(0);
+        for (int i = 0; i < 100; i++) {
+            clientEntry.addAcquireWait(1000);
+        }
+        Thread.sleep(100);
+        assertThat(grows.get()).isZero();
+    }
+
+}
@@ -0,0 +1,145 @@
+package org.redisson.connection.balancer;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.redisson.MasterSlaveServersConfig;
+import org.redisson.client.RedisClient;
+import org.redisson.connection.ClientConnectionsEntry;
+import org.redisson.connection.ConnectionManager;
+import org.redisson.connection.IdleConnectionWatcher;
+import org.redisson.core.NodeType;
+
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+public class LatencyAwareLoadBalancerTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private NioEventLoopGroup group;
+    private ConnectionManager connectionManager;
+    private final LatencyAwareLoadBalancer balancer = new LatencyAwareLoadBalancer();
+
+    @Before
+    public void before() {
+        group = new NioEventLoopGroup(1);
+        final MasterSlaveServersConfig config = new MasterSlaveServersConfig();
+        final IdleConnectionWatcher[] watcher = new IdleConnectionWatcher[1];
+        connectionManager = (ConnectionManager) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[] {ConnectionManager.class}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (method.getName().equals("getConfig")) {
+                    return config;
+                }
+                if (method.getName().equals("getGroup")) {
+                    return group;
+                }
+                if (method.getName().equals("getConnectionWatcher")) {
+                    return watcher[0];
+                }
+                throw new UnsupportedOperationException(method.getName());
+            }
+        });
+        watcher[0] = new IdleConnectionWatcher(connectionManager, config);
+    }
+
+    @After
+    public void after() throws InterruptedException {
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+    }
+
+    private ClientConnectionsEntry createEntry(int port, long latency, int outstandingCommands) {
+        RedisClient client = new RedisClient(group, NioSocketChannel.class, "127.0.0.1", port, 1000);
+        if (latency > 0) {
+            client.getStats().commandSent();
+            client.getStats().commandCompleted(latency);
+        }
+        for (int i = 0; i < outstandingCommands; i++) {
+            client.getStats().commandSent();
+        }
+        return new ClientConnectionsEntry(client, 0, 1, 0, 1, connectionManager, NodeType.SLAVE);
+    }
+
+    @Test
+    public void testSingleEntry() {
+        ClientConnectionsEntry entry = createEntry(6379, 10 * MILLIS, 5);
+        assertThat(balancer.getEntry(Arrays.asList(entry))).isSameAs(entry);
+    }
+
+    @Test
+    public void testLowerLatency() {
+        ClientConnectionsEntry slow = createEntry(6379, 10 * MILLIS, 0);
+        ClientConnectionsEntry fast = createEntry(6380, MILLIS, 0);
+        List<ClientConnectionsEntry> entries = Arrays.asList(slow, fast);
+        for (int i = 0; i < 100; i++) {
+            assertThat(balancer.getEntry(entries)).isSameAs(fast);
+        }
+    }
+
+    @Test
+    public void testFewerOutstandingCommands() {
+        ClientConnectionsEntry busy = createEntry(6379, MILLIS, 10);
+        ClientConnectionsEntry idle = createEntry(6380, MILLIS, 0);
+        List<ClientConnectionsEntry> entries = Arrays.asList(busy, idle);
+        for (int i = 0; i < 100; i++) {
+            assertThat(balancer.getEntry(entries)).isSameAs(idle);
+        }
+    }
+
+    @Test
+    public void testEntryWithoutSamples() {
+        ClientConnectionsEntry sampled = createEntry(6379, MILLIS, 0);
+        ClientConnectionsEntry fresh = createEntry(6380, 0, 0);
+        List<ClientConnectionsEntry> entries = Arrays.asList(sampled, fresh);
+        for (int i = 0; i < 100; i++) {
+            assertThat(balancer.getEntry(entries)).isSameAs(fresh);
+        }
+
+        // fresh node isn't flooded while it has no samples
+        ClientConnectionsEntry busyFresh = createEntry(6381, 0, 20);
+        entries = Arrays.asList(sampled, busyFresh);
+        for (int i = 0; i < 100; i++) {
+            assertThat(balancer.getEntry(entries)).isSameAs(sampled);
+        }
+    }
+
+    @Test
+    public void testZeroLatencyEntries() {
+        ClientConnectionsEntry busy = createEntry(6379, 0, 10);
+        ClientConnectionsEntry idle = createEntry(6380, 0, 1);
+        List<ClientConnectionsEntry> entries = Arrays.asList(busy, idle);
+        for (int i = 0; i < 100; i++) {
+            assertThat(balancer.getEntry(entries)).isSameAs(idle);
+        }
+    }
+
+    @Test
+    public void testSlowestNeverChosen() {
+        ClientConnectionsEntry slowest = createEntry(6379, 100 * MILLIS, 0);
+        ClientConnectionsEntry entry1 = createEntry(6380, 2 * MILLIS, 0);
+        ClientConnectionsEntry entry2 = createEntry(6381, MILLIS, 0);
+        List<ClientConnectionsEntry> entries = Arrays.asList(slowest, entry1, entry2);
+
+        Set<ClientConnectionsEntry> chosen = new HashSet<ClientConnectionsEntry>();
+        for (int i = 0; i < 1000; i++) {
+            chosen.add(balancer.getEntry(entries));
+        }
+        // two random entries are compared, so the slowest one always loses
+        // while the second fastest wins over the slowest one
+        assertThat(chosen).containsOnly(entry1, entry2);
+    }
+
+}